@@ -0,0 +1,37 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SuppressWarnings("unused")
+public class V38_1__add_secret_name_trigram_index implements SpringJdbcMigration {
+  @Override
+  public void migrate(JdbcTemplate jdbcTemplate) throws Exception {
+    String databaseName = jdbcTemplate.getDataSource().getConnection().getMetaData()
+        .getDatabaseProductName().toLowerCase();
+
+    if (!databaseName.equals("postgresql") || !canUseTrigrams(jdbcTemplate)) {
+      return;
+    }
+
+    jdbcTemplate.execute("create extension if not exists pg_trgm");
+    jdbcTemplate.execute("create index secret_name_lower_name_trigram_index"
+        + " on secret_name using gin (lower(name) gin_trgm_ops)");
+  }
+
+  // Creating the extension needs superuser rights unless it is already installed, and a failed
+  // statement would abort the migration, so only try when it is known to succeed.
+  private boolean canUseTrigrams(JdbcTemplate jdbcTemplate) {
+    Integer installed = jdbcTemplate.queryForObject(
+        "select count(*) from pg_extension where extname = 'pg_trgm'", Integer.class);
+    if (installed > 0) {
+      return true;
+    }
+
+    Integer available = jdbcTemplate.queryForObject(
+        "select count(*) from pg_available_extensions where name = 'pg_trgm'", Integer.class);
+    Boolean superuser = jdbcTemplate.queryForObject(
+        "select rolsuper from pg_roles where rolname = current_user", Boolean.class);
+    return available > 0 && superuser;
+  }
+}
@@ -0,0 +1,48 @@
+package db.migration.common;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.util.io.pem.PemObject;
+import org.bouncycastle.util.io.pem.PemReader;
+import org.flywaydb.core.api.migration.spring.SpringJdbcMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SuppressWarnings("unused")
+public class V39_1__backfill_certificate_not_after implements SpringJdbcMigration {
+
+  @Override
+  public void migrate(JdbcTemplate jdbcTemplate) throws Exception {
+    List<Object[]> updates = new ArrayList<>();
+
+    // Certificates are stored in the clear, so nothing needs to be decrypted here.
+    jdbcTemplate.query(
+        "select uuid, certificate from certificate_secret where certificate is not null",
+        rowSet -> {
+          Long notAfter = notAfterOf(rowSet.getString("certificate"));
+          if (notAfter != null) {
+            updates.add(new Object[]{notAfter, rowSet.getObject("uuid")});
+          }
+        }
+    );
+
+    if (!updates.isEmpty()) {
+      jdbcTemplate.batchUpdate("update certificate_secret set not_after = ? where uuid = ?",
+          updates);
+    }
+  }
+
+  private Long notAfterOf(String certificate) {
+    try (PemReader pemReader = new PemReader(new StringReader(certificate))) {
+      PemObject pemObject = pemReader.readPemObject();
+      if (pemObject == null) {
+        return null;
+      }
+      return new X509CertificateHolder(pemObject.getContent()).getNotAfter().getTime();
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+}
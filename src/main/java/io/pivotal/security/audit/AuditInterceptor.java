@@ -6,7 +6,6 @@ import io.pivotal.security.data.RequestAuditRecordDataService;
 import io.pivotal.security.entity.RequestAuditRecord;
 import io.pivotal.security.service.SecurityEventsLogService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
@@ -51,7 +50,7 @@ public class AuditInterceptor extends HandlerInterceptorAdapter {
       Object handler,
       Exception exception
   ) throws Exception {
-    UserContext userContext = userContextFactory.createUserContext((Authentication) request.getUserPrincipal());
+    UserContext userContext = userContextFactory.createUserContext(request);
 
     RequestAuditRecord requestAuditRecord = requestAuditLogFactory.createRequestAuditRecord(request, userContext, response.getStatus());
 
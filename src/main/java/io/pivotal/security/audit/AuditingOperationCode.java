@@ -6,7 +6,8 @@ public enum AuditingOperationCode {
   CREDENTIAL_DELETE("credential_delete"),
   CREDENTIAL_UPDATE("credential_update"),
   UNKNOWN_OPERATION("unknown_operation"),
-  ACL_ACCESS("acl_access");
+  ACL_ACCESS("acl_access"),
+  AUDIT_ACCESS("audit_access");
 
   private String operation;
 
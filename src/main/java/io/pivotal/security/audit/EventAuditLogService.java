@@ -34,6 +34,16 @@ public class EventAuditLogService {
       HttpServletRequest request,
       UserContext userContext,
       Function<EventAuditRecordBuilder, T> respondToRequestFunction
+  ) {
+    return performWithAuditingForRequest((UUID) request.getAttribute(REQUEST_UUID_ATTRIBUTE),
+        userContext, respondToRequestFunction);
+  }
+
+  // For work that outlives the request it was started by, such as background jobs.
+  public <T> T performWithAuditingForRequest(
+      UUID requestUuid,
+      UserContext userContext,
+      Function<EventAuditRecordBuilder, T> respondToRequestFunction
   ) {
     TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
     final EventAuditRecordBuilder eventAuditRecordBuilder = new EventAuditRecordBuilder(userContext.getAclUser());
@@ -43,12 +53,12 @@ public class EventAuditLogService {
       success = true;
       return response;
     } finally {
-      writeAuditRecord(request, eventAuditRecordBuilder, success, transaction);
+      writeAuditRecord(requestUuid, eventAuditRecordBuilder, success, transaction);
     }
   }
 
   private void writeAuditRecord(
-      HttpServletRequest request,
+      UUID requestUuid,
       EventAuditRecordBuilder eventAuditRecordBuilder,
       boolean success,
       TransactionStatus transaction
@@ -59,8 +69,12 @@ public class EventAuditLogService {
         transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
       }
 
-      EventAuditRecord eventAuditRecord = eventAuditRecordBuilder.build((UUID) request.getAttribute(REQUEST_UUID_ATTRIBUTE), success);
-      eventAuditRecordDataService.save(eventAuditRecord);
+      if (eventAuditRecordBuilder.isForManyCredentials()) {
+        eventAuditRecordDataService.save(eventAuditRecordBuilder.buildAll(requestUuid, success));
+      } else {
+        EventAuditRecord eventAuditRecord = eventAuditRecordBuilder.build(requestUuid, success);
+        eventAuditRecordDataService.save(eventAuditRecord);
+      }
 
       transactionManager.commit(transaction);
     } catch (Exception e) {
@@ -2,11 +2,16 @@ package io.pivotal.security.audit;
 
 import io.pivotal.security.entity.EventAuditRecord;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 public class EventAuditRecordBuilder {
   private final String actor;
   private String credentialName;
+  private List<String> credentialNames;
+  private List<AuditingOperationCode> credentialOperationCodes;
   private AuditingOperationCode auditingOperationCode;
 
   public EventAuditRecordBuilder(String actor) {
@@ -21,6 +26,40 @@ public class EventAuditRecordBuilder {
     this.credentialName = credentialName;
   }
 
+  // Bulk operations record one event per credential, written together at the end of the request.
+  public void setCredentialNames(List<String> credentialNames) {
+    this.credentialNames = new ArrayList<>(credentialNames);
+    this.credentialOperationCodes = new ArrayList<>(
+        Collections.nCopies(credentialNames.size(), null));
+  }
+
+  // Records a credential whose operation differs from the rest of the request, e.g. a bulk set
+  // that writes some credentials and only reads the ones it may not overwrite.
+  public void addCredential(String credentialName, AuditingOperationCode operationCode) {
+    if (credentialNames == null) {
+      credentialNames = new ArrayList<>();
+      credentialOperationCodes = new ArrayList<>();
+    }
+    credentialNames.add(credentialName);
+    credentialOperationCodes.add(operationCode);
+  }
+
+  public boolean isForManyCredentials() {
+    return credentialNames != null;
+  }
+
+  public List<EventAuditRecord> buildAll(UUID requestUuid, boolean success) {
+    List<EventAuditRecord> records = new ArrayList<>(credentialNames.size());
+    for (int i = 0; i < credentialNames.size(); i++) {
+      AuditingOperationCode operationCode = credentialOperationCodes.get(i) != null
+          ? credentialOperationCodes.get(i)
+          : auditingOperationCode;
+      final String operation = operationCode != null ? operationCode.toString() : null;
+      records.add(new EventAuditRecord(operation, credentialNames.get(i), actor, requestUuid, success));
+    }
+    return records;
+  }
+
   public EventAuditRecord build(UUID requestUuid, boolean success) {
     final String operation = auditingOperationCode != null ? auditingOperationCode.toString() : null;
     return new EventAuditRecord(
@@ -0,0 +1,46 @@
+package io.pivotal.security.auth;
+
+import com.google.common.cache.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class AuthCachePublicMetrics implements PublicMetrics {
+  private final CachingResourceServerTokenServices tokenServices;
+  private final CertificateIdentityCache certificateIdentityCache;
+
+  @Autowired
+  AuthCachePublicMetrics(
+      CachingResourceServerTokenServices tokenServices,
+      CertificateIdentityCache certificateIdentityCache) {
+    this.tokenServices = tokenServices;
+    this.certificateIdentityCache = certificateIdentityCache;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    addCacheMetrics(metrics, "cache.access_tokens",
+        tokenServices.getStats(), tokenServices.getSize());
+    addCacheMetrics(metrics, "cache.certificate_identities",
+        certificateIdentityCache.getStats(), certificateIdentityCache.getSize());
+    return metrics;
+  }
+
+  private static void addCacheMetrics(
+      List<Metric<?>> metrics,
+      String prefix,
+      CacheStats stats,
+      long size) {
+    metrics.add(new Metric<>(prefix + ".hits", stats.hitCount()));
+    metrics.add(new Metric<>(prefix + ".misses", stats.missCount()));
+    metrics.add(new Metric<>(prefix + ".evictions", stats.evictionCount()));
+    metrics.add(new Metric<>(prefix + ".size", size));
+  }
+}
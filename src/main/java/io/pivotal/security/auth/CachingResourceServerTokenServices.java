@@ -0,0 +1,122 @@
+package io.pivotal.security.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// Clients reuse an access token for its whole lifetime, so remember tokens whose signature has
+// already been verified until they expire instead of verifying them again on every request.
+public class CachingResourceServerTokenServices implements ResourceServerTokenServices {
+  static final long MAXIMUM_CACHED_TOKENS = 10000;
+
+  private final ResourceServerTokenServices delegate;
+  private final AccessTokenConverter accessTokenConverter;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  public CachingResourceServerTokenServices(
+      ResourceServerTokenServices delegate,
+      AccessTokenConverter accessTokenConverter) {
+    this.delegate = delegate;
+    this.accessTokenConverter = accessTokenConverter;
+    this.verifiedTokens = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_TOKENS)
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public OAuth2Authentication loadAuthentication(String accessToken)
+      throws AuthenticationException, InvalidTokenException {
+    String key = hash(accessToken);
+    VerifiedToken verifiedToken = getUnexpired(key);
+
+    if (verifiedToken != null) {
+      return verifiedToken.newAuthentication();
+    }
+
+    OAuth2Authentication authentication = delegate.loadAuthentication(accessToken);
+    // The delegate has just verified the signature, so the claims only need to be parsed.
+    OAuth2AccessToken token = accessTokenConverter
+        .extractAccessToken(accessToken, readClaims(accessToken));
+
+    if (token != null && token.getExpiration() != null) {
+      verifiedToken = new VerifiedToken(token, authentication);
+      verifiedTokens.put(key, verifiedToken);
+      return verifiedToken.newAuthentication();
+    }
+
+    return authentication;
+  }
+
+  @Override
+  public OAuth2AccessToken readAccessToken(String accessToken) {
+    VerifiedToken verifiedToken = getUnexpired(hash(accessToken));
+
+    return verifiedToken != null ? verifiedToken.token : delegate.readAccessToken(accessToken);
+  }
+
+  public CacheStats getStats() {
+    return verifiedTokens.stats();
+  }
+
+  public long getSize() {
+    return verifiedTokens.size();
+  }
+
+  private VerifiedToken getUnexpired(String key) {
+    VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+
+    if (verifiedToken != null && verifiedToken.token.isExpired()) {
+      verifiedTokens.invalidate(key);
+      return null;
+    }
+
+    return verifiedToken;
+  }
+
+  private static Map<String, Object> readClaims(String accessToken) {
+    Map<String, Object> claims = JsonParserFactory.create()
+        .parseMap(JwtHelper.decode(accessToken).getClaims());
+    if (claims.get(AccessTokenConverter.EXP) instanceof Integer) {
+      claims.put(AccessTokenConverter.EXP,
+          ((Integer) claims.get(AccessTokenConverter.EXP)).longValue());
+    }
+    return claims;
+  }
+
+  private static String hash(String accessToken) {
+    return Hashing.sha256().hashString(accessToken, StandardCharsets.UTF_8).toString();
+  }
+
+  // The authentication manager sets request details on the authentication it is given, so only
+  // its immutable parts are kept and every request gets an authentication of its own.
+  private static class VerifiedToken {
+    private final OAuth2AccessToken token;
+    private final OAuth2Request request;
+    private final Authentication userAuthentication;
+
+    VerifiedToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+      this.token = token;
+      this.request = authentication.getOAuth2Request();
+      this.userAuthentication = authentication.getUserAuthentication();
+    }
+
+    OAuth2Authentication newAuthentication() {
+      return new OAuth2Authentication(request, userAuthentication);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package io.pivotal.security.auth;
+
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+import static io.pivotal.security.auth.X509AuthenticationProvider.CLIENT_AUTH_EXTENDED_KEY_USAGE;
+
+public class CertificateIdentity {
+  private final String subjectDn;
+  private final long validFrom;
+  private final long validUntil;
+  private final boolean extendedKeyUsageReadable;
+  private final boolean clientAuth;
+
+  CertificateIdentity(X509Certificate certificate) {
+    subjectDn = certificate.getSubjectDN().getName();
+    validFrom = certificate.getNotBefore().toInstant().getEpochSecond();
+    validUntil = certificate.getNotAfter().toInstant().getEpochSecond();
+
+    boolean readable = true;
+    boolean hasClientAuth = false;
+    try {
+      List<String> extKeyUsage = certificate.getExtendedKeyUsage();
+      hasClientAuth = extKeyUsage != null && extKeyUsage.contains(CLIENT_AUTH_EXTENDED_KEY_USAGE);
+    } catch (CertificateParsingException e) {
+      readable = false;
+    }
+    extendedKeyUsageReadable = readable;
+    clientAuth = hasClientAuth;
+  }
+
+  public String getSubjectDn() {
+    return subjectDn;
+  }
+
+  public long getValidFrom() {
+    return validFrom;
+  }
+
+  public long getValidUntil() {
+    return validUntil;
+  }
+
+  public boolean isExtendedKeyUsageReadable() {
+    return extendedKeyUsageReadable;
+  }
+
+  public boolean hasClientAuth() {
+    return clientAuth;
+  }
+}
@@ -0,0 +1,47 @@
+package io.pivotal.security.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import org.springframework.stereotype.Component;
+
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+
+// Long-lived service clients present the same certificate on every request. The parsed identity
+// is immutable for a given certificate, so it is remembered by the certificate's fingerprint.
+@Component
+public class CertificateIdentityCache {
+  static final long MAXIMUM_CACHED_IDENTITIES = 10000;
+
+  private final Cache<String, CertificateIdentity> identities = CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_CACHED_IDENTITIES)
+      .recordStats()
+      .build();
+
+  public CertificateIdentity getIdentity(X509Certificate certificate) {
+    String fingerprint;
+    try {
+      fingerprint = Hashing.sha256().hashBytes(certificate.getEncoded()).toString();
+    } catch (CertificateEncodingException e) {
+      return new CertificateIdentity(certificate);
+    }
+
+    CertificateIdentity identity = identities.getIfPresent(fingerprint);
+    if (identity == null) {
+      identity = new CertificateIdentity(certificate);
+      identities.put(fingerprint, identity);
+    }
+
+    return identity;
+  }
+
+  public CacheStats getStats() {
+    return identities.stats();
+  }
+
+  public long getSize() {
+    return identities.size();
+  }
+}
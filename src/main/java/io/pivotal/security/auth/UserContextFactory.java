@@ -13,14 +13,34 @@ import org.springframework.stereotype.Component;
 import java.security.cert.X509Certificate;
 import java.util.Map;
 import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
 
 @Component
 public class UserContextFactory {
+  public static final String USER_CONTEXT_ATTRIBUTE = "USER_CONTEXT";
   private final ResourceServerTokenServices resourceServerTokenServices;
+  private final CertificateIdentityCache certificateIdentityCache;
 
   @Autowired
-  UserContextFactory(ResourceServerTokenServices resourceServerTokenServices) {
+  UserContextFactory(
+      ResourceServerTokenServices resourceServerTokenServices,
+      CertificateIdentityCache certificateIdentityCache
+  ) {
     this.resourceServerTokenServices = resourceServerTokenServices;
+    this.certificateIdentityCache = certificateIdentityCache;
+  }
+
+  // Reading the access token verifies the JWT signature, so the context is built once and
+  // shared by the argument resolvers and the audit interceptor for the rest of the request.
+  public UserContext createUserContext(HttpServletRequest request) {
+    UserContext userContext = (UserContext) request.getAttribute(USER_CONTEXT_ATTRIBUTE);
+
+    if (userContext == null) {
+      userContext = createUserContext((Authentication) request.getUserPrincipal());
+      request.setAttribute(USER_CONTEXT_ATTRIBUTE, userContext);
+    }
+
+    return userContext;
   }
 
   public UserContext createUserContext(Authentication authentication) {
@@ -79,11 +99,12 @@ public class UserContextFactory {
 
   private UserContext createUserContext(PreAuthenticatedAuthenticationToken authentication) {
     X509Certificate certificate = (X509Certificate) authentication.getCredentials();
+    CertificateIdentity identity = certificateIdentityCache.getIdentity(certificate);
 
     return new UserContext(
-        certificate.getNotBefore().toInstant().getEpochSecond(),
-        certificate.getNotAfter().toInstant().getEpochSecond(),
-        certificate.getSubjectDN().getName(),
+        identity.getValidFrom(),
+        identity.getValidUntil(),
+        identity.getSubjectDn(),
         UserContext.AUTH_METHOD_MUTUAL_TLS
     );
   }
@@ -1,9 +1,8 @@
 package io.pivotal.security.auth;
 
-import java.security.cert.CertificateParsingException;
 import java.security.cert.X509Certificate;
-import java.util.List;
 import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.Authentication;
@@ -27,7 +26,11 @@ public class X509AuthenticationProvider extends PreAuthenticatedAuthenticationPr
     return token -> new User(token.getName(), "", AuthorityUtils.createAuthorityList(ROLE_MTLS_USER));
   }
 
-  public X509AuthenticationProvider() {
+  private final CertificateIdentityCache certificateIdentityCache;
+
+  @Autowired
+  public X509AuthenticationProvider(CertificateIdentityCache certificateIdentityCache) {
+    this.certificateIdentityCache = certificateIdentityCache;
     setPreAuthenticatedUserDetailsService(x509v3ExtService());
   }
 
@@ -44,20 +47,21 @@ public class X509AuthenticationProvider extends PreAuthenticatedAuthenticationPr
         attempt after this failure.
        */
 
-      try {
-        List<String> extKeyUsage = certificate.getExtendedKeyUsage();
-        if (extKeyUsage == null || !extKeyUsage.contains(CLIENT_AUTH_EXTENDED_KEY_USAGE)) {
-          BadCredentialsException throwable =
-              new BadCredentialsException("");
+      CertificateIdentity identity = certificateIdentityCache.getIdentity(certificate);
 
-          throw new InternalAuthenticationServiceException("Certificate does not contain: " + CLIENT_AUTH_EXTENDED_KEY_USAGE, throwable);
-        }
-      } catch (CertificateParsingException e) {
+      if (!identity.isExtendedKeyUsageReadable()) {
         BadCredentialsException throwable =
             new BadCredentialsException("");
 
         throw new InternalAuthenticationServiceException("Certificate Extended Key Usage unreadable",throwable);
       }
+
+      if (!identity.hasClientAuth()) {
+        BadCredentialsException throwable =
+            new BadCredentialsException("");
+
+        throw new InternalAuthenticationServiceException("Certificate does not contain: " + CLIENT_AUTH_EXTENDED_KEY_USAGE, throwable);
+      }
     }
 
     return result;
@@ -2,6 +2,7 @@ package io.pivotal.security.config;
 
 import io.pivotal.security.auth.AuditOAuth2AccessDeniedHandler;
 import io.pivotal.security.auth.AuditOAuth2AuthenticationExceptionHandler;
+import io.pivotal.security.auth.CertificateIdentityCache;
 import io.pivotal.security.auth.PreAuthenticationFailureFilter;
 import io.pivotal.security.auth.X509AuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,18 +33,20 @@ public class AuthConfiguration extends ResourceServerConfigurerAdapter {
   private final AuditOAuth2AuthenticationExceptionHandler auditOAuth2AuthenticationExceptionHandler;
   private final AuditOAuth2AccessDeniedHandler auditOAuth2AccessDeniedHandler;
   private final PreAuthenticationFailureFilter preAuthenticationFailureFilter;
-
+  private final CertificateIdentityCache certificateIdentityCache;
 
   @Autowired
   AuthConfiguration(
     ResourceServerProperties resourceServerProperties,
     AuditOAuth2AuthenticationExceptionHandler auditOAuth2AuthenticationExceptionHandler,
     AuditOAuth2AccessDeniedHandler auditOAuth2AccessDeniedHandler,
-    PreAuthenticationFailureFilter preAuthenticationFailureFilter) {
+    PreAuthenticationFailureFilter preAuthenticationFailureFilter,
+    CertificateIdentityCache certificateIdentityCache) {
     this.resourceServerProperties = resourceServerProperties;
     this.auditOAuth2AuthenticationExceptionHandler = auditOAuth2AuthenticationExceptionHandler;
     this.auditOAuth2AccessDeniedHandler = auditOAuth2AccessDeniedHandler;
     this.preAuthenticationFailureFilter = preAuthenticationFailureFilter;
+    this.certificateIdentityCache = certificateIdentityCache;
   }
 
   @Override
@@ -83,7 +86,7 @@ public class AuthConfiguration extends ResourceServerConfigurerAdapter {
         .authorizeRequests()
         .antMatchers("/info").permitAll()
         .antMatchers("/health").permitAll()
-        .antMatchers("/api/v1/**")
+        .antMatchers("/api/v1/**", "/management/**")
           .access(String.format("hasRole('%s') "
                   + "or (#oauth2.hasScope('credhub.read') and #oauth2.hasScope('credhub.write'))",
               X509AuthenticationProvider.MTLS_USER));
@@ -97,7 +100,7 @@ public class AuthConfiguration extends ResourceServerConfigurerAdapter {
 
   @Bean
   public PreAuthenticatedAuthenticationProvider getPreAuthenticatedAuthenticationProvider() {
-    return new X509AuthenticationProvider();
+    return new X509AuthenticationProvider(certificateIdentityCache);
   }
 
 }
@@ -1,5 +1,6 @@
 package io.pivotal.security.config;
 
+import io.pivotal.security.auth.CachingResourceServerTokenServices;
 import org.springframework.boot.autoconfigure.security.oauth2.resource.ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,7 +11,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
-import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
@@ -46,10 +46,12 @@ public class OAuth2Configuration {
   }
 
   @Bean
-  public ResourceServerTokenServices resourceServerTokenServices(TokenStore tokenStore) {
+  public CachingResourceServerTokenServices resourceServerTokenServices(TokenStore tokenStore,
+      DefaultAccessTokenConverter defaultAccessTokenConverter) {
     DefaultTokenServices defaultTokenServices = new DefaultTokenServices();
     defaultTokenServices.setTokenStore(tokenStore);
-    return defaultTokenServices;
+    return new CachingResourceServerTokenServices(defaultTokenServices,
+        defaultAccessTokenConverter);
   }
 
   @Bean
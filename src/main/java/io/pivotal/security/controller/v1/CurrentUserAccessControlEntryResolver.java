@@ -5,7 +5,6 @@ import io.pivotal.security.auth.UserContextFactory;
 import io.pivotal.security.request.AccessControlEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -13,6 +12,7 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 import java.util.Arrays;
+import javax.servlet.http.HttpServletRequest;
 
 import static io.pivotal.security.request.AccessControlOperation.DELETE;
 import static io.pivotal.security.request.AccessControlOperation.READ;
@@ -39,7 +39,8 @@ public class CurrentUserAccessControlEntryResolver implements HandlerMethodArgum
       ModelAndViewContainer mavContainer,
       NativeWebRequest webRequest,
       WebDataBinderFactory binderFactory) throws Exception {
-    UserContext userContext = userContextFactory.createUserContext((Authentication) webRequest.getUserPrincipal());
+    UserContext userContext = userContextFactory
+        .createUserContext(webRequest.getNativeRequest(HttpServletRequest.class));
     return new AccessControlEntry(
         userContext.getAclUser(),
         Arrays.asList(READ, WRITE, DELETE, WRITE_ACL, READ_ACL));
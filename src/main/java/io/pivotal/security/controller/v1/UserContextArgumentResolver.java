@@ -4,13 +4,14 @@ import io.pivotal.security.auth.UserContext;
 import io.pivotal.security.auth.UserContextFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+import javax.servlet.http.HttpServletRequest;
+
 @Component
 public class UserContextArgumentResolver implements HandlerMethodArgumentResolver {
   private final UserContextFactory userContextFactory;
@@ -31,6 +32,7 @@ public class UserContextArgumentResolver implements HandlerMethodArgumentResolve
       NativeWebRequest webRequest,
       WebDataBinderFactory binderFactory
   ) throws Exception {
-    return userContextFactory.createUserContext((Authentication) webRequest.getUserPrincipal());
+    return userContextFactory
+        .createUserContext(webRequest.getNativeRequest(HttpServletRequest.class));
   }
 }
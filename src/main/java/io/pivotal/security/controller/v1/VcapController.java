@@ -1,9 +1,8 @@
 package io.pivotal.security.controller.v1;
 
-import com.jayway.jsonpath.DocumentContext;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.pivotal.security.data.SecretDataService;
 import io.pivotal.security.service.JsonInterpolationService;
-import org.apache.logging.log4j.core.util.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,7 +14,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 
 @SuppressWarnings("unused")
 @RestController
@@ -37,14 +35,9 @@ public class VcapController {
 
   @RequestMapping(method = RequestMethod.POST, path = "/vcap")
   @ResponseStatus(HttpStatus.OK)
-  public String interpolate(InputStream requestBody, HttpServletRequest request,
+  public JsonNode interpolate(InputStream requestBody, HttpServletRequest request,
       Authentication authentication) throws Exception {
-    String requestAsString = IOUtils.toString(new InputStreamReader(requestBody));
-
-    DocumentContext responseJson;
-    responseJson = jsonInterpolationService
-        .interpolateCredhubReferences(requestAsString, secretDataService);
-
-    return responseJson.jsonString();
+    return jsonInterpolationService
+        .interpolateCredhubReferences(requestBody, secretDataService);
   }
 }
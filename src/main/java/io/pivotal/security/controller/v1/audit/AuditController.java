@@ -0,0 +1,106 @@
+package io.pivotal.security.controller.v1.audit;
+
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.data.EventAuditRecordDataService;
+import io.pivotal.security.data.TimestampCursor;
+import io.pivotal.security.exceptions.EntryNotFoundException;
+import io.pivotal.security.exceptions.InvalidQueryParameterException;
+import io.pivotal.security.service.PermissionService;
+import io.pivotal.security.util.CurrentTimeProvider;
+import io.pivotal.security.view.AuditEventResults;
+import io.pivotal.security.view.AuditEventView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+
+import static io.pivotal.security.audit.AuditingOperationCode.AUDIT_ACCESS;
+import static io.pivotal.security.request.AccessControlOperation.READ;
+import static java.util.Collections.singletonList;
+import static org.apache.commons.lang3.StringUtils.prependIfMissing;
+
+@RestController
+@RequestMapping(path = "/api/v1/audit", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class AuditController {
+  static final int DEFAULT_LIMIT = 100;
+  static final int MAX_LIMIT = 1000;
+
+  private final EventAuditRecordDataService eventAuditRecordDataService;
+  private final EventAuditLogService eventAuditLogService;
+  private final CurrentTimeProvider currentTimeProvider;
+  private final PermissionService permissionService;
+
+  @Autowired
+  public AuditController(
+      EventAuditRecordDataService eventAuditRecordDataService,
+      EventAuditLogService eventAuditLogService,
+      CurrentTimeProvider currentTimeProvider,
+      PermissionService permissionService
+  ) {
+    this.eventAuditRecordDataService = eventAuditRecordDataService;
+    this.eventAuditLogService = eventAuditLogService;
+    this.currentTimeProvider = currentTimeProvider;
+    this.permissionService = permissionService;
+  }
+
+  @GetMapping
+  @ResponseStatus(HttpStatus.OK)
+  public AuditEventResults getEvents(
+      @RequestParam(value = "credential_name", required = false) String credentialName,
+      @RequestParam(value = "actor", required = false) String actor,
+      @RequestParam(value = "from", required = false) String from,
+      @RequestParam(value = "until", required = false) String until,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      HttpServletRequest request,
+      UserContext userContext
+  ) {
+    Instant fromInstant = from == null ? Instant.EPOCH : parseInstant(from, "from");
+    Instant untilInstant = until == null
+        ? currentTimeProvider.getInstant() : parseInstant(until, "until");
+    TimestampCursor timestampCursor = cursor == null ? null : TimestampCursor.parse(cursor);
+    int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+
+    if (pageSize < 1 || pageSize > MAX_LIMIT) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", "limit");
+    }
+
+    String readableBy = permissionService.getReadFilterActor(userContext);
+
+    return eventAuditLogService.performWithAuditing(request, userContext, eventAuditRecordBuilder -> {
+      eventAuditRecordBuilder.setCredentialName(credentialName);
+      eventAuditRecordBuilder.setAuditingOperationCode(AUDIT_ACCESS);
+
+      // Events on a credential the caller may not read are reported like a missing credential.
+      if (readableBy != null && credentialName != null && permissionService.filterPermitted(
+          userContext, singletonList(prependIfMissing(credentialName, "/")), READ).isEmpty()) {
+        throw new EntryNotFoundException("error.credential_not_found");
+      }
+
+      List<AuditEventView> events = eventAuditRecordDataService.findEvents(credentialName, actor,
+          readableBy, fromInstant, untilInstant, timestampCursor, pageSize);
+      TimestampCursor nextCursor = eventAuditRecordDataService
+          .nextCursor(events, timestampCursor, pageSize);
+
+      return new AuditEventResults(events, nextCursor == null ? null : nextCursor.toString());
+    });
+  }
+
+  private Instant parseInstant(String value, String parameter) {
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", parameter);
+    }
+  }
+}
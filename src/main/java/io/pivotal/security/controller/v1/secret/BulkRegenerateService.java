@@ -0,0 +1,216 @@
+package io.pivotal.security.controller.v1.secret;
+
+import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_ACCESS;
+import static io.pivotal.security.view.BulkRegenerateJob.STATUS_COMPLETED;
+import static io.pivotal.security.view.BulkRegenerateJob.STATUS_FAILED;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.data.FindCredentialCursor;
+import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.data.SecretMetadata;
+import io.pivotal.security.domain.NamedSecret;
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import io.pivotal.security.request.AccessControlEntry;
+import io.pivotal.security.request.BaseSecretGenerateRequest;
+import io.pivotal.security.request.BaseSecretSetRequest;
+import io.pivotal.security.service.GeneratorService;
+import io.pivotal.security.service.SetService;
+import io.pivotal.security.service.regeneratables.PasswordSecretRegeneratable;
+import io.pivotal.security.view.BulkRegenerateJob;
+import io.pivotal.security.view.SecretView;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Jobs run one at a time, in the order they were started, on a single thread per instance; the
+// queue is not bounded and there is no per-user limit. Job state lives only in the memory of the
+// instance that started the job and is dropped an hour after its last update, so polling another
+// instance (or the same one after a restart) returns not found.
+@Service
+class BulkRegenerateService {
+
+  static final int PAGE_SIZE = 100;
+
+  private static final String PASSWORD_TYPE = "password";
+
+  private static final Logger LOGGER = LogManager.getLogger(BulkRegenerateService.class);
+
+  private final SecretDataService secretDataService;
+  private final GeneratorService generatorService;
+  private final SetService setService;
+  private final EventAuditLogService eventAuditLogService;
+  private final ExecutorService jobRunner;
+  private final ExecutorService workers;
+  private final PasswordSecretRegeneratable passwordRegeneratable =
+      new PasswordSecretRegeneratable();
+  private final Cache<UUID, BulkRegenerateJob> jobs = CacheBuilder.newBuilder()
+      .expireAfterWrite(1, TimeUnit.HOURS)
+      .build();
+
+  @Autowired
+  BulkRegenerateService(
+      SecretDataService secretDataService,
+      GeneratorService generatorService,
+      SetService setService,
+      EventAuditLogService eventAuditLogService
+  ) {
+    this.secretDataService = secretDataService;
+    this.generatorService = generatorService;
+    this.setService = setService;
+    this.eventAuditLogService = eventAuditLogService;
+    this.jobRunner = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("bulk-regenerate").setDaemon(true).build());
+    this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+        new ThreadFactoryBuilder().setNameFormat("bulk-regenerate-%d").setDaemon(true).build());
+  }
+
+  // readableBy limits the job to credentials that actor may read; null regenerates everything
+  // under the path, as when ACLs are not enforced.
+  public BulkRegenerateJob start(
+      String path,
+      String readableBy,
+      UUID requestUuid,
+      UserContext userContext,
+      AccessControlEntry currentUserAccessControlEntry) {
+    BulkRegenerateJob job = new BulkRegenerateJob(UUID.randomUUID(), path,
+        userContext.getAclUser(), Instant.now());
+    jobs.put(job.getId(), job);
+    jobRunner.execute(() ->
+        run(job, readableBy, requestUuid, userContext, currentUserAccessControlEntry));
+    return job;
+  }
+
+  // Jobs are only visible to the actor that started them.
+  public BulkRegenerateJob find(UUID id, UserContext userContext) {
+    BulkRegenerateJob job = jobs.getIfPresent(id);
+    if (job == null || !Objects.equals(job.getOwner(), userContext.getAclUser())) {
+      return null;
+    }
+    return job;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    jobRunner.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  // Pages run newest first, and each regenerated credential gets a newer version than the
+  // cursor, so it is never seen twice.
+  void run(
+      BulkRegenerateJob job,
+      String readableBy,
+      UUID requestUuid,
+      UserContext userContext,
+      AccessControlEntry currentUserAccessControlEntry) {
+    try {
+      FindCredentialCursor cursor = null;
+      List<SecretView> page;
+      do {
+        page = readableBy == null
+            ? secretDataService.findStartingWithPath(job.getPath(), cursor, PAGE_SIZE)
+            : secretDataService.findStartingWithPath(job.getPath(), readableBy, cursor, PAGE_SIZE);
+        if (page.isEmpty()) {
+          break;
+        }
+
+        List<String> passwordNames = new ArrayList<>();
+        List<String> names = page.stream().map(SecretView::getName).collect(Collectors.toList());
+        for (SecretMetadata metadata : secretDataService.findMostRecentMetadataByNames(names)) {
+          if (PASSWORD_TYPE.equals(metadata.getSecretType())) {
+            passwordNames.add(metadata.getName());
+          } else {
+            job.addSkipped(1);
+          }
+        }
+
+        if (!passwordNames.isEmpty()) {
+          AtomicInteger attempted = new AtomicInteger(passwordNames.size());
+          try {
+            List<SecretView> regenerated = eventAuditLogService.performWithAuditingForRequest(
+                requestUuid, userContext, eventAuditRecordBuilder -> {
+                  List<BaseSecretSetRequest> setRequests = regenerate(job, passwordNames, attempted);
+                  if (setRequests.isEmpty()) {
+                    eventAuditRecordBuilder.setAuditingOperationCode(CREDENTIAL_ACCESS);
+                    return Collections.<SecretView>emptyList();
+                  }
+                  return setService.performSets(eventAuditRecordBuilder, setRequests,
+                      currentUserAccessControlEntry);
+                });
+            job.addRegenerated(regenerated.size());
+          } catch (RuntimeException e) {
+            LOGGER.error("Failed to regenerate credentials under " + job.getPath(), e);
+            job.addFailed(attempted.get());
+          }
+        }
+
+        cursor = FindCredentialCursor.after(page.get(page.size() - 1));
+        jobs.put(job.getId(), job);
+      } while (page.size() == PAGE_SIZE && !Thread.currentThread().isInterrupted());
+
+      job.finish(STATUS_COMPLETED, Instant.now());
+    } catch (RuntimeException e) {
+      LOGGER.error("Bulk regenerate of " + job.getPath() + " failed", e);
+      job.finish(STATUS_FAILED, Instant.now());
+    }
+    jobs.put(job.getId(), job);
+  }
+
+  private List<BaseSecretSetRequest> regenerate(
+      BulkRegenerateJob job,
+      List<String> names,
+      AtomicInteger attempted) {
+    // Generation parameters are decrypted on this thread, inside the transaction; only the
+    // password generation itself is handed to the workers.
+    List<BaseSecretGenerateRequest> generateRequests = new ArrayList<>();
+    for (NamedSecret secret : secretDataService.findMostRecentByNames(names)) {
+      try {
+        BaseSecretGenerateRequest generateRequest = passwordRegeneratable
+            .createGenerateRequest(secret);
+        generateRequest.setOverwrite(true);
+        generateRequests.add(generateRequest);
+      } catch (ParameterizedValidationException e) {
+        job.addSkipped(1);
+      }
+    }
+    attempted.set(generateRequests.size());
+
+    List<Future<BaseSecretSetRequest>> futures = generateRequests.stream()
+        .map(generateRequest -> workers.submit(() ->
+            generateRequest.generateSetRequest(generatorService)))
+        .collect(Collectors.toList());
+
+    List<BaseSecretSetRequest> setRequests = new ArrayList<>();
+    try {
+      for (Future<BaseSecretSetRequest> future : futures) {
+        setRequests.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+
+    return setRequests;
+  }
+}
@@ -1,23 +1,34 @@
 package io.pivotal.security.controller.v1.secret;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.io.ByteStreams;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.PathNotFoundException;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.jayway.jsonpath.InvalidJsonException;
 import io.pivotal.security.audit.AuditingOperationCode;
 import io.pivotal.security.audit.EventAuditLogService;
 import io.pivotal.security.audit.EventAuditRecordBuilder;
 import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.data.FindCredentialCursor;
 import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.data.TimestampCursor;
 import io.pivotal.security.domain.NamedSecret;
 import io.pivotal.security.exceptions.EntryNotFoundException;
 import io.pivotal.security.exceptions.InvalidQueryParameterException;
 import io.pivotal.security.request.AccessControlEntry;
+import io.pivotal.security.request.AccessControlOperation;
 import io.pivotal.security.request.BaseSecretGenerateRequest;
 import io.pivotal.security.request.BaseSecretSetRequest;
+import io.pivotal.security.request.BulkGenerateRequest;
+import io.pivotal.security.request.BulkGetRequest;
+import io.pivotal.security.request.BulkRegenerateRequest;
+import io.pivotal.security.request.BulkSetRequest;
 import io.pivotal.security.request.SecretRegenerateRequest;
 import io.pivotal.security.service.GenerateService;
+import io.pivotal.security.service.PermissionService;
 import io.pivotal.security.service.SetService;
+import io.pivotal.security.view.BulkRegenerateJob;
 import io.pivotal.security.view.DataResponse;
 import io.pivotal.security.view.FindCredentialResults;
 import io.pivotal.security.view.FindPathResults;
@@ -25,7 +36,6 @@ import io.pivotal.security.view.SecretView;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.core.util.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -39,16 +49,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static io.pivotal.security.audit.AuditInterceptor.REQUEST_UUID_ATTRIBUTE;
 import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_FIND;
 
 @RestController
@@ -58,6 +69,8 @@ import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_FIND;
 public class SecretsController {
 
   public static final String API_V1_DATA = "/api/v1/data";
+  static final int DEFAULT_FIND_LIMIT = 100;
+  static final int MAX_FIND_LIMIT = 1000;
 
   private static final Logger LOGGER = LogManager.getLogger(SecretsController.class);
   private final SecretDataService secretDataService;
@@ -66,6 +79,8 @@ public class SecretsController {
   private final GenerateService generateService;
   private final SetService setService;
   private final RegenerateService regenerateService;
+  private final BulkRegenerateService bulkRegenerateService;
+  private final PermissionService permissionService;
 
   @Autowired
   public SecretsController(SecretDataService secretDataService,
@@ -73,7 +88,9 @@ public class SecretsController {
                            ObjectMapper objectMapper,
                            GenerateService generateService,
                            SetService setService,
-                           RegenerateService regenerateService
+                           RegenerateService regenerateService,
+                           BulkRegenerateService bulkRegenerateService,
+                           PermissionService permissionService
   ) {
     this.secretDataService = secretDataService;
     this.eventAuditLogService = eventAuditLogService;
@@ -81,6 +98,8 @@ public class SecretsController {
     this.generateService = generateService;
     this.setService = setService;
     this.regenerateService = regenerateService;
+    this.bulkRegenerateService = bulkRegenerateService;
+    this.permissionService = permissionService;
   }
 
   @RequestMapping(path = "", method = RequestMethod.POST)
@@ -88,16 +107,17 @@ public class SecretsController {
   public SecretView generate(InputStream inputStream,
       HttpServletRequest request,
       UserContext userContext,
-      AccessControlEntry currentUserAccessControlEntry) throws IOException {
-    InputStream requestInputStream = new ByteArrayInputStream(ByteStreams.toByteArray(inputStream));
+      AccessControlEntry currentUserAccessControlEntry) {
+    // The body is parsed once, inside the audited block so that malformed requests are audited
+    // too, and the same tree is bound again on retry.
+    Supplier<JsonNode> requestTree = Suppliers.memoize(() -> readRequestTree(inputStream));
     try {
-      return auditedHandlePostRequest(requestInputStream, request, userContext, currentUserAccessControlEntry);
+      return auditedHandlePostRequest(requestTree, request, userContext, currentUserAccessControlEntry);
     } catch (JpaSystemException | DataIntegrityViolationException e) {
-      requestInputStream.reset();
       LOGGER.error(
           "Exception \"" + e.getMessage() + "\" with class \"" + e.getClass().getCanonicalName()
               + "\" while storing secret, possibly caused by race condition, retrying...");
-      return auditedHandlePostRequest(requestInputStream, request, userContext, currentUserAccessControlEntry);
+      return auditedHandlePostRequest(requestTree, request, userContext, currentUserAccessControlEntry);
     }
   }
 
@@ -119,6 +139,71 @@ public class SecretsController {
     }
   }
 
+  @RequestMapping(path = "/bulk-set", method = RequestMethod.PUT)
+  @ResponseStatus(HttpStatus.OK)
+  public DataResponse setAll(@RequestBody BulkSetRequest requestBody,
+      HttpServletRequest request,
+      UserContext userContext,
+      AccessControlEntry currentUserAccessControlEntry) {
+    requestBody.validate();
+
+    try {
+      return auditedHandleBulkRequest(request, userContext, eventAuditRecordBuilder ->
+          setService.performSets(eventAuditRecordBuilder, requestBody.getCredentials(), currentUserAccessControlEntry));
+    } catch (JpaSystemException | DataIntegrityViolationException e) {
+      LOGGER.error(
+          "Exception \"" + e.getMessage() + "\" with class \"" + e.getClass().getCanonicalName()
+              + "\" while storing secrets, possibly caused by race condition, retrying...");
+      return auditedHandleBulkRequest(request, userContext, eventAuditRecordBuilder ->
+          setService.performSets(eventAuditRecordBuilder, requestBody.getCredentials(), currentUserAccessControlEntry));
+    }
+  }
+
+  @RequestMapping(path = "/bulk-generate", method = RequestMethod.POST)
+  @ResponseStatus(HttpStatus.OK)
+  public DataResponse generateAll(@RequestBody BulkGenerateRequest requestBody,
+      HttpServletRequest request,
+      UserContext userContext,
+      AccessControlEntry currentUserAccessControlEntry) {
+    requestBody.validate();
+
+    return auditedHandleBulkRequest(request, userContext, eventAuditRecordBuilder ->
+        generateService.performGenerates(eventAuditRecordBuilder, requestBody.getCredentials(), currentUserAccessControlEntry));
+  }
+
+  @RequestMapping(path = "/bulk-regenerate", method = RequestMethod.POST)
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public BulkRegenerateJob regenerateAll(@RequestBody BulkRegenerateRequest requestBody,
+      HttpServletRequest request,
+      UserContext userContext,
+      AccessControlEntry currentUserAccessControlEntry) {
+    requestBody.validate();
+
+    return bulkRegenerateService.start(
+        requestBody.getPath(),
+        permissionService.getReadFilterActor(userContext),
+        (UUID) request.getAttribute(REQUEST_UUID_ATTRIBUTE),
+        userContext,
+        currentUserAccessControlEntry);
+  }
+
+  @RequestMapping(path = "/bulk-regenerate/{id}", method = RequestMethod.GET)
+  @ResponseStatus(HttpStatus.OK)
+  public BulkRegenerateJob getBulkRegenerateJob(@PathVariable String id,
+      UserContext userContext) {
+    BulkRegenerateJob job;
+    try {
+      job = bulkRegenerateService.find(UUID.fromString(id), userContext);
+    } catch (IllegalArgumentException e) {
+      job = null;
+    }
+
+    if (job == null) {
+      throw new EntryNotFoundException("error.bulk_regenerate_job_not_found");
+    }
+    return job;
+  }
+
   @RequestMapping(path = "", method = RequestMethod.DELETE)
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void delete(
@@ -164,15 +249,79 @@ public class SecretsController {
   public DataResponse getSecret(
       @RequestParam(value = "name", required = false) String secretName,
       @RequestParam(value = "current", required = false, defaultValue = "false") boolean current,
+      @RequestParam(value = "versions", required = false) Integer versions,
+      @RequestParam(value = "cursor", required = false) String cursor,
       HttpServletRequest request,
       UserContext userContext) {
+    if (current || (versions == null && cursor == null)) {
+      return DataResponse.fromEntity(retrieveSecretWithAuditing(
+          secretName,
+          selectLookupFunction(current),
+          request,
+          userContext
+      ));
+    }
+
+    int pageSize = versions == null ? DEFAULT_FIND_LIMIT : versions;
+    if (pageSize < 1 || pageSize > MAX_FIND_LIMIT) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", "versions");
+    }
+    TimestampCursor timestampCursor = cursor == null ? null : TimestampCursor.parse(cursor);
 
-    return DataResponse.fromEntity(retrieveSecretWithAuditing(
+    // Ask for one extra version so that a cursor is only handed out when more versions remain.
+    List<NamedSecret> found = retrieveSecretWithAuditing(
         secretName,
-        selectLookupFunction(current),
+        name -> secretDataService.findVersionsByName(name, timestampCursor, pageSize + 1),
         request,
         userContext
-    ));
+    );
+    List<NamedSecret> namedSecrets = found.size() > pageSize ? found.subList(0, pageSize) : found;
+    TimestampCursor nextCursor = found.size() > pageSize ? TimestampCursor.next(
+        namedSecrets.stream().map(NamedSecret::getVersionCreatedAt).collect(Collectors.toList()),
+        timestampCursor,
+        pageSize
+    ) : null;
+
+    return new DataResponse(
+        namedSecrets.stream().map(SecretView::fromEntity).collect(Collectors.toList()),
+        nextCursor == null ? null : nextCursor.toString()
+    );
+  }
+
+  @RequestMapping(path = "/bulk-get", method = RequestMethod.POST)
+  @ResponseStatus(HttpStatus.OK)
+  public DataResponse getSecrets(
+      @RequestBody BulkGetRequest requestBody,
+      HttpServletRequest request,
+      UserContext userContext
+  ) {
+    requestBody.validate();
+
+    return eventAuditLogService.performWithAuditing(request, userContext, eventAuditRecordBuilder -> {
+      eventAuditRecordBuilder.setAuditingOperationCode(AuditingOperationCode.CREDENTIAL_ACCESS);
+
+      List<String> names = requestBody.getNames().stream()
+          .map(name -> StringUtils.prependIfMissing(name, "/").toLowerCase())
+          .distinct()
+          .collect(Collectors.toList());
+      // Unreadable credentials are reported the same way as missing ones.
+      if (permissionService.filterPermitted(userContext, names, AccessControlOperation.READ).size()
+          != names.size()) {
+        throw new EntryNotFoundException("error.credential_not_found");
+      }
+      List<NamedSecret> namedSecrets = secretDataService.findMostRecentByNames(names);
+      if (namedSecrets.size() != names.size()) {
+        throw new EntryNotFoundException("error.credential_not_found");
+      }
+
+      eventAuditRecordBuilder.setCredentialNames(namedSecrets.stream()
+          .map(NamedSecret::getName)
+          .collect(Collectors.toList()));
+
+      return new DataResponse(namedSecrets.parallelStream()
+          .map(SecretView::fromEntity)
+          .collect(Collectors.toList()));
+    });
   }
 
   @RequestMapping(path = "", params = "path", method = RequestMethod.GET)
@@ -182,7 +331,16 @@ public class SecretsController {
       HttpServletRequest request,
       UserContext userContext
   ) {
-    return findStartingWithAuditing(params.get("path"), request, userContext);
+    String actor = permissionService.getReadFilterActor(userContext);
+    if (actor != null) {
+      return findWithAuditing(params.get("path"), params,
+          path -> secretDataService.findStartingWithPath(path, actor),
+          (path, cursor, limit) -> secretDataService.findStartingWithPath(path, actor, cursor, limit),
+          request, userContext);
+    }
+
+    return findWithAuditing(params.get("path"), params, secretDataService::findStartingWithPath,
+        secretDataService::findStartingWithPath, request, userContext);
   }
 
   @RequestMapping(path = "", params = "paths=true", method = RequestMethod.GET)
@@ -199,42 +357,72 @@ public class SecretsController {
       HttpServletRequest request,
       UserContext userContext
   ) {
-    return findWithAuditing(params.get("name-like"), secretDataService::findContainingName, request,
-        userContext);
+    String actor = permissionService.getReadFilterActor(userContext);
+    if (actor != null) {
+      return findWithAuditing(params.get("name-like"), params,
+          name -> secretDataService.findContainingName(name, actor),
+          (name, cursor, limit) -> secretDataService.findContainingName(name, actor, cursor, limit),
+          request, userContext);
+    }
+
+    return findWithAuditing(params.get("name-like"), params, secretDataService::findContainingName,
+        secretDataService::findContainingName, request, userContext);
+  }
+
+  @RequestMapping(path = "", params = "signed-by", method = RequestMethod.GET)
+  @ResponseStatus(HttpStatus.OK)
+  public FindCredentialResults findBySigningCa(
+      @RequestParam Map<String, String> params,
+      HttpServletRequest request,
+      UserContext userContext
+  ) {
+    if (StringUtils.isEmpty(params.get("signed-by"))) {
+      throw new InvalidQueryParameterException("error.missing_query_parameter", "signed-by");
+    }
+
+    String actor = permissionService.getReadFilterActor(userContext);
+    if (actor != null) {
+      return findWithAuditing(params.get("signed-by"), params,
+          caName -> secretDataService.findSignedBy(caName, actor),
+          (caName, cursor, limit) -> secretDataService.findSignedBy(caName, actor, cursor, limit),
+          request, userContext);
+    }
+
+    return findWithAuditing(params.get("signed-by"), params, secretDataService::findSignedBy,
+        secretDataService::findSignedBy, request, userContext);
   }
 
   private SecretView auditedHandlePostRequest(
-      InputStream inputStream,
+      Supplier<JsonNode> requestTree,
       HttpServletRequest request,
       UserContext userContext,
       AccessControlEntry currentUserAccessControlEntry
   ) {
     return eventAuditLogService.performWithAuditing(request, userContext, (eventAuditRecordBuilder -> {
       return deserializeAndHandlePostRequest(
-          inputStream,
+          requestTree.get(),
           eventAuditRecordBuilder,
           currentUserAccessControlEntry);
     }));
   }
 
   private SecretView deserializeAndHandlePostRequest(
-      InputStream inputStream,
+      JsonNode requestTree,
       EventAuditRecordBuilder eventAuditRecordBuilder,
       AccessControlEntry currentUserAccessControlEntry
   ) {
     try {
-      String requestString = IOUtils.toString(new InputStreamReader(inputStream));
-      boolean isRegenerateRequest = readRegenerateFlagFrom(requestString);
-  
+      boolean isRegenerateRequest = requestTree.path("regenerate").asBoolean();
+
       if (isRegenerateRequest) {
         // If it's a regenerate request deserialization is simple; the generation case requires
         // polymorphic deserialization See BaseSecretGenerateRequest to see how that's done. It
         // would be nice if Jackson could pick a subclass based on an arbitrary function, since
         // we want to consider both type and .regenerate. We could do custom deserialization but
         // then we'd have to do the entire job by hand.
-        return handleRegenerateRequest(eventAuditRecordBuilder, requestString, currentUserAccessControlEntry);
+        return handleRegenerateRequest(eventAuditRecordBuilder, requestTree, currentUserAccessControlEntry);
       } else {
-        return handleGenerateRequest(eventAuditRecordBuilder, requestString, currentUserAccessControlEntry);
+        return handleGenerateRequest(eventAuditRecordBuilder, requestTree, currentUserAccessControlEntry);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -243,10 +431,10 @@ public class SecretsController {
 
   private SecretView handleGenerateRequest(
       EventAuditRecordBuilder auditRecordBuilder,
-      String requestString,
+      JsonNode requestTree,
       AccessControlEntry currentUserAccessControlEntry
   ) throws IOException {
-    BaseSecretGenerateRequest requestBody = objectMapper.readValue(requestString, BaseSecretGenerateRequest.class);
+    BaseSecretGenerateRequest requestBody = objectMapper.treeToValue(requestTree, BaseSecretGenerateRequest.class);
     requestBody.validate();
 
     return generateService.performGenerate(auditRecordBuilder, requestBody, currentUserAccessControlEntry);
@@ -254,10 +442,10 @@ public class SecretsController {
 
   private SecretView handleRegenerateRequest(
       EventAuditRecordBuilder auditRecordBuilder,
-      String requestString,
+      JsonNode requestTree,
       AccessControlEntry currentUserAccessControlEntry
   ) throws IOException {
-    SecretRegenerateRequest requestBody = objectMapper.readValue(requestString, SecretRegenerateRequest.class);
+    SecretRegenerateRequest requestBody = objectMapper.treeToValue(requestTree, SecretRegenerateRequest.class);
 
     return regenerateService.performRegenerate(auditRecordBuilder, requestBody, currentUserAccessControlEntry);
   }
@@ -280,6 +468,15 @@ public class SecretsController {
     return setService.performSet(eventAuditRecordBuilder, requestBody, currentUserAccessControlEntry);
   }
 
+  private DataResponse auditedHandleBulkRequest(
+      HttpServletRequest request,
+      UserContext userContext,
+      Function<EventAuditRecordBuilder, List<SecretView>> handler
+  ) {
+    return eventAuditLogService.performWithAuditing(request, userContext, eventAuditRecordBuilder ->
+        new DataResponse(handler.apply(eventAuditRecordBuilder)));
+  }
+
   private Function<String, List<NamedSecret>> selectLookupFunction(boolean current) {
     if (current) {
       return findAsList(secretDataService::findMostRecent);
@@ -316,28 +513,61 @@ public class SecretsController {
     });
   }
 
-  private boolean readRegenerateFlagFrom(String requestString) {
-    boolean isRegenerateRequest;
+  private JsonNode readRequestTree(InputStream inputStream) {
     try {
-      isRegenerateRequest = JsonPath.read(requestString, "$.regenerate");
-    } catch (PathNotFoundException e) {
-      // could have just returned null, that would have been pretty useful
-      isRegenerateRequest = false;
+      JsonNode requestTree = objectMapper.readTree(inputStream);
+      if (requestTree == null) {
+        throw new InvalidJsonException();
+      }
+      return requestTree;
+    } catch (JsonParseException e) {
+      throw new InvalidJsonException(e);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
-    return isRegenerateRequest;
   }
 
   private FindCredentialResults findWithAuditing(String nameSubstring,
+      Map<String, String> params,
       Function<String, List<SecretView>> finder,
+      PagedFinder pagedFinder,
       HttpServletRequest request,
       UserContext userContext) {
+    Integer limit = parseLimit(params);
+    FindCredentialCursor cursor = params.get("cursor") == null
+        ? null : FindCredentialCursor.parse(params.get("cursor"));
+
     return eventAuditLogService.performWithAuditing(request, userContext, eventAuditRecordBuilder -> {
       eventAuditRecordBuilder.setAuditingOperationCode(CREDENTIAL_FIND);
-      List<SecretView> secretViews = finder.apply(nameSubstring);
-      return FindCredentialResults.fromSecrets(secretViews);
+
+      if (limit == null && cursor == null) {
+        return FindCredentialResults.fromSecrets(finder.apply(nameSubstring));
+      }
+
+      int pageSize = limit == null ? DEFAULT_FIND_LIMIT : limit;
+      List<SecretView> secretViews = pagedFinder.find(nameSubstring, cursor, pageSize);
+      String nextCursor = secretViews.size() < pageSize
+          ? null : FindCredentialCursor.after(secretViews.get(secretViews.size() - 1)).toString();
+      return FindCredentialResults.fromSecrets(secretViews, nextCursor);
     });
   }
 
+  private Integer parseLimit(Map<String, String> params) {
+    if (params.get("limit") == null) {
+      return null;
+    }
+
+    try {
+      int limit = Integer.parseInt(params.get("limit"));
+      if (limit < 1 || limit > MAX_FIND_LIMIT) {
+        throw new NumberFormatException();
+      }
+      return limit;
+    } catch (NumberFormatException e) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", "limit");
+    }
+  }
+
   private FindPathResults findPathsWithAuditing(
       HttpServletRequest request,
       UserContext userContext
@@ -349,8 +579,7 @@ public class SecretsController {
     });
   }
 
-  private FindCredentialResults findStartingWithAuditing(String path, HttpServletRequest request,
-      UserContext userContext) {
-    return findWithAuditing(path, secretDataService::findStartingWithPath, request, userContext);
+  private interface PagedFinder {
+    List<SecretView> find(String nameSubstring, FindCredentialCursor cursor, int limit);
   }
 }
@@ -0,0 +1,132 @@
+package io.pivotal.security.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Remembers each actor's permissions on a credential as a bitmask of AccessControlOperation
+// masks. Every credential name carries a version that is bumped whenever its access entries
+// change; cached masks read under an older version are ignored. Entries also expire after a
+// short while so that changes made through other instances are eventually picked up; until
+// then, an instance that did not make a change may keep honoring a revoked entry for up to
+// EXPIRE_AFTER_SECONDS.
+//
+// Versions are drawn from one counter and never reused, so the version map can be bounded like
+// the masks: a name whose version was evicted starts over with a version no cached mask carries.
+@Component
+public class AccessControlCache {
+  static final long MAXIMUM_CACHED_ENTRIES = 100000;
+  static final long EXPIRE_AFTER_SECONDS = 60;
+
+  private final AtomicLong nextVersion = new AtomicLong();
+  private final LoadingCache<String, AtomicLong> versions;
+  private final Cache<ActorCredential, VersionedMask> permissionMasks;
+
+  public AccessControlCache() {
+    this(MAXIMUM_CACHED_ENTRIES);
+  }
+
+  AccessControlCache(long maximumEntries) {
+    versions = CacheBuilder.newBuilder()
+        .maximumSize(maximumEntries)
+        .expireAfterAccess(EXPIRE_AFTER_SECONDS, TimeUnit.SECONDS)
+        .build(CacheLoader.from(name -> new AtomicLong(nextVersion.incrementAndGet())));
+    permissionMasks = CacheBuilder.newBuilder()
+        .maximumSize(maximumEntries)
+        .expireAfterWrite(EXPIRE_AFTER_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  public long getVersion(String credentialName) {
+    return versionOf(normalize(credentialName)).get();
+  }
+
+  public Integer getPermissionMask(String actor, String credentialName) {
+    String name = normalize(credentialName);
+    VersionedMask cached = permissionMasks.getIfPresent(new ActorCredential(actor, name));
+
+    if (cached == null || cached.version != versionOf(name).get()) {
+      return null;
+    }
+
+    return cached.mask;
+  }
+
+  public void putPermissionMask(String actor, String credentialName, long version, int mask) {
+    permissionMasks.put(
+        new ActorCredential(actor, normalize(credentialName)),
+        new VersionedMask(version, mask)
+    );
+  }
+
+  public void invalidate(String credentialName) {
+    String name = normalize(credentialName);
+    versionOf(name).set(nextVersion.incrementAndGet());
+
+    // Masks read by other requests before the surrounding transaction commits would still see
+    // the old entries, so bump the version again once it completes.
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+              versionOf(name).set(nextVersion.incrementAndGet());
+            }
+          });
+    }
+  }
+
+  private AtomicLong versionOf(String name) {
+    return versions.getUnchecked(name);
+  }
+
+  private static String normalize(String credentialName) {
+    return StringUtils.prependIfMissing(credentialName, "/").toLowerCase();
+  }
+
+  private static class ActorCredential {
+    private final String actor;
+    private final String credentialName;
+
+    ActorCredential(String actor, String credentialName) {
+      this.actor = actor;
+      this.credentialName = credentialName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ActorCredential that = (ActorCredential) o;
+      return Objects.equals(actor, that.actor) && Objects.equals(credentialName, that.credentialName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(actor, credentialName);
+    }
+  }
+
+  private static class VersionedMask {
+    private final long version;
+    private final int mask;
+
+    VersionedMask(long version, int mask) {
+      this.version = version;
+      this.mask = mask;
+    }
+  }
+}
@@ -9,8 +9,13 @@ import io.pivotal.security.request.AccessControlOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,16 +25,19 @@ public class AccessControlDataService {
   private AccessEntryRepository accessEntryRepository;
   private SecretDataService secretDataService;
   private final JdbcTemplate jdbcTemplate;
+  private final AccessControlCache accessControlCache;
 
   @Autowired
   public AccessControlDataService(
       AccessEntryRepository accessEntryRepository,
       SecretDataService secretDataService,
-      JdbcTemplate jdbcTemplate
+      JdbcTemplate jdbcTemplate,
+      AccessControlCache accessControlCache
   ) {
     this.accessEntryRepository = accessEntryRepository;
     this.secretDataService = secretDataService;
     this.jdbcTemplate = jdbcTemplate;
+    this.accessControlCache = accessControlCache;
   }
 
   public List<AccessControlEntry> getAccessControlList(String credentialName) {
@@ -37,38 +45,109 @@ public class AccessControlDataService {
     return createViewsForAllAcesWithName(secretName);
   }
 
+  @Transactional
   public List<AccessControlEntry> setAccessControlEntries(
       String credentialName,
       List<AccessControlEntry> entries
   ) {
     SecretName secretName = findSecretName(credentialName);
 
-    List<AccessEntryData> existingAccessEntries = accessEntryRepository
-        .findAllByCredentialNameUuid(secretName.getUuid());
+    List<AccessEntryData> accessEntries = new ArrayList<>(accessEntryRepository
+        .findAllByCredentialNameUuid(secretName.getUuid()));
 
     for (AccessControlEntry ace : entries) {
-      upsertAccessEntryOperations(secretName, existingAccessEntries, ace.getActor(),
+      upsertAccessEntryOperations(secretName, accessEntries, ace.getActor(),
           ace.getAllowedOperations());
     }
 
-    return createViewsForAllAcesWithName(secretName);
+    // Saved and flushed together so that Hibernate sends the inserts and updates as JDBC
+    // batches instead of one round-trip per actor.
+    accessEntryRepository.save(accessEntries);
+    accessEntryRepository.flush();
+    accessControlCache.invalidate(secretName.getName());
+
+    return accessEntries.stream()
+        .map(this::createViewFor)
+        .collect(Collectors.toList());
   }
 
   public void deleteAccessControlEntries(String credentialName, String actor) {
     final SecretName secretName = findSecretName(credentialName);
     accessEntryRepository.deleteByCredentialNameUuidAndActor(secretName.getUuid(), actor);
+    accessControlCache.invalidate(secretName.getName());
   }
 
   public boolean hasReadAclPermission(String actor, String credentialName) {
-    final Integer count = jdbcTemplate.queryForObject(
-        "select count(1) from access_entry " +
+    return hasPermission(actor, credentialName, AccessControlOperation.READ_ACL);
+  }
+
+  public boolean hasPermission(
+      String actor,
+      String credentialName,
+      AccessControlOperation operation
+  ) {
+    Integer mask = accessControlCache.getPermissionMask(actor, credentialName);
+
+    if (mask == null) {
+      long version = accessControlCache.getVersion(credentialName);
+      mask = findPermissionMask(actor, credentialName);
+      accessControlCache.putPermissionMask(actor, credentialName, version, mask);
+    }
+
+    return (mask & operation.getMask()) != 0;
+  }
+
+  // Loads every entry granted to the actor in a single query, keyed by lower-cased credential
+  // name, so that many credentials can be checked without a round-trip each.
+  public Map<String, EnumSet<AccessControlOperation>> getPermissionsForActor(String actor) {
+    final Map<String, EnumSet<AccessControlOperation>> permissions = new HashMap<>();
+
+    jdbcTemplate.query(
+        "select secret_name.name, access_entry.read_permission, access_entry.write_permission, " +
+            "access_entry.delete_permission, access_entry.read_acl_permission, " +
+            "access_entry.write_acl_permission " +
+            "from access_entry inner join secret_name " +
+            "on access_entry.secret_name_uuid = secret_name.uuid " +
+            "where access_entry.actor = ?",
+        new Object[]{actor},
+        (rowSet) -> {
+          EnumSet<AccessControlOperation> operations = EnumSet.noneOf(AccessControlOperation.class);
+          for (AccessControlOperation operation : AccessControlOperation.values()) {
+            if (rowSet.getBoolean(permissionColumn(operation))) {
+              operations.add(operation);
+            }
+          }
+          permissions.put(rowSet.getString("name").toLowerCase(), operations);
+        }
+    );
+
+    return permissions;
+  }
+
+  private int findPermissionMask(String actor, String credentialName) {
+    final List<Integer> masks = jdbcTemplate.query(
+        "select read_permission, write_permission, delete_permission, " +
+            "read_acl_permission, write_acl_permission from access_entry " +
             "where secret_name_uuid = (" +
               "select uuid from secret_name where lower(name) = lower(?)" +
-            ") and actor = ? and read_acl_permission = true",
+            ") and actor = ?",
         new Object[]{credentialName, actor},
-        Integer.class
+        (rowSet, rowNum) -> {
+          int mask = 0;
+          for (AccessControlOperation operation : AccessControlOperation.values()) {
+            if (rowSet.getBoolean(permissionColumn(operation))) {
+              mask |= operation.getMask();
+            }
+          }
+          return mask;
+        }
     );
-    return count > 0;
+
+    return masks.isEmpty() ? 0 : masks.get(0);
+  }
+
+  static String permissionColumn(AccessControlOperation operation) {
+    return operation.getOperation() + "_permission";
   }
 
   private void upsertAccessEntryOperations(SecretName secretName,
@@ -77,10 +156,10 @@ public class AccessControlDataService {
 
     if (entry == null) {
       entry = new AccessEntryData(secretName, actor);
+      accessEntries.add(entry);
     }
 
     entry.enableOperations(operations);
-    accessEntryRepository.saveAndFlush(entry);
   }
 
   private SecretName findSecretName(String credentialName) {
@@ -23,7 +23,7 @@ public class CertificateAuthorityService {
     if (NamedCertificateSecret.class.isInstance(mostRecent)) {
       NamedCertificateSecret namedCertificateSecret = (NamedCertificateSecret) mostRecent;
 
-      if (!new CertificateReader(namedCertificateSecret.getCertificate()).isCa()) {
+      if (!CertificateReader.of(namedCertificateSecret.getCertificate()).isCa()) {
         throw new ParameterizedValidationException("error.cert_not_ca");
       }
 
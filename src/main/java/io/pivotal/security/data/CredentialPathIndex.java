@@ -0,0 +1,117 @@
+package io.pivotal.security.data;
+
+import io.pivotal.security.entity.NamedSecretData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.StringUtils.prependIfMissing;
+
+// Keeps every path that has at least one credential underneath it, sorted, along with the number
+// of credential names that contribute to it. Writes made through this instance are applied once
+// their transaction commits; the whole index is reloaded from secret_name every so often so that
+// writes made through other instances are eventually picked up as well.
+@Component
+public class CredentialPathIndex {
+  static final long REFRESH_AFTER_SECONDS = 60;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private volatile Map<String, String> names;
+  private volatile NavigableMap<String, Integer> paths;
+  private volatile long loadedAt;
+
+  @Autowired
+  public CredentialPathIndex(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<String> getPaths() {
+    if (isStale()) {
+      reloadIfStale();
+    }
+    return new ArrayList<>(paths.keySet());
+  }
+
+  public void add(String credentialName) {
+    afterCommit(() -> addNow(prependIfMissing(credentialName, "/")));
+  }
+
+  public void remove(String credentialName) {
+    afterCommit(() -> removeNow(prependIfMissing(credentialName, "/")));
+  }
+
+  public synchronized void reload() {
+    Map<String, String> loadedNames = new ConcurrentHashMap<>();
+    NavigableMap<String, Integer> loadedPaths = new ConcurrentSkipListMap<>();
+
+    jdbcTemplate.query("select name from secret_name", (rowSet) -> {
+      String name = rowSet.getString("name");
+      if (loadedNames.putIfAbsent(name.toLowerCase(), name) == null) {
+        NamedSecretData.fullHierarchyForPath(name)
+            .forEach(path -> loadedPaths.merge(path, 1, Integer::sum));
+      }
+    });
+
+    names = loadedNames;
+    paths = loadedPaths;
+    loadedAt = System.nanoTime();
+  }
+
+  // Requests that saw a stale index queue here; only the first one reloads it.
+  private synchronized void reloadIfStale() {
+    if (isStale()) {
+      reload();
+    }
+  }
+
+  private boolean isStale() {
+    return paths == null
+        || System.nanoTime() - loadedAt > TimeUnit.SECONDS.toNanos(REFRESH_AFTER_SECONDS);
+  }
+
+  private synchronized void addNow(String name) {
+    if (paths == null || names.putIfAbsent(name.toLowerCase(), name) != null) {
+      return;
+    }
+    NamedSecretData.fullHierarchyForPath(name)
+        .forEach(path -> paths.merge(path, 1, Integer::sum));
+  }
+
+  private synchronized void removeNow(String name) {
+    if (paths == null) {
+      return;
+    }
+    String storedName = names.remove(name.toLowerCase());
+    if (storedName == null) {
+      return;
+    }
+    NamedSecretData.fullHierarchyForPath(storedName)
+        .forEach(path -> paths.computeIfPresent(path, (key, count) -> count > 1 ? count - 1 : null));
+  }
+
+  private static void afterCommit(Runnable update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronizationAdapter() {
+          @Override
+          public void afterCommit() {
+            update.run();
+          }
+        });
+  }
+}
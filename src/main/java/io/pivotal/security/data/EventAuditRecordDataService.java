@@ -2,20 +2,130 @@ package io.pivotal.security.data;
 
 import io.pivotal.security.entity.EventAuditRecord;
 import io.pivotal.security.repository.EventAuditRecordRepository;
+import io.pivotal.security.view.AuditEventView;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.pivotal.security.util.UuidUtil.uuidFromColumnValue;
+
 @Service
 public class EventAuditRecordDataService {
 
+  private static final String FIND_EVENTS_QUERY =
+      " select"
+          + "   event.request_uuid, event.now, event.operation, event.credential_name,"
+          + "   event.actor, event.success, request.auth_method, request.method,"
+          + "   request.path, request.status_code, request.requester_ip, request.x_forwarded_for"
+          + " from event_audit_record as event"
+          + " left join request_audit_record as request on request.uuid = event.request_uuid"
+          + " where event.now >= ? and event.now <= ?";
+
+  private static final String READABLE_BY_CONDITION =
+      " and exists ("
+          + "   select 1 from secret_name as name"
+          + "   inner join access_entry on access_entry.secret_name_uuid = name.uuid"
+          + "   where name.name = event.credential_name"
+          + "   and access_entry.actor = ? and access_entry.read_permission = true)";
+
   private final EventAuditRecordRepository eventAuditRecordRepository;
+  private final JdbcTemplate jdbcTemplate;
 
   @Autowired
-  EventAuditRecordDataService(EventAuditRecordRepository eventAuditRecordRepository) {
+  EventAuditRecordDataService(
+      EventAuditRecordRepository eventAuditRecordRepository,
+      JdbcTemplate jdbcTemplate
+  ) {
     this.eventAuditRecordRepository = eventAuditRecordRepository;
+    this.jdbcTemplate = jdbcTemplate;
   }
 
   public EventAuditRecord save(EventAuditRecord record) {
     return eventAuditRecordRepository.save(record);
   }
+
+  public List<EventAuditRecord> save(List<EventAuditRecord> records) {
+    return eventAuditRecordRepository.save(records);
+  }
+
+  public List<AuditEventView> findEvents(
+      String credentialName,
+      String actor,
+      Instant from,
+      Instant until,
+      TimestampCursor cursor,
+      int limit
+  ) {
+    return findEvents(credentialName, actor, null, from, until, cursor, limit);
+  }
+
+  // When readableBy is given, only events on credentials that actor may read are returned.
+  public List<AuditEventView> findEvents(
+      String credentialName,
+      String actor,
+      String readableBy,
+      Instant from,
+      Instant until,
+      TimestampCursor cursor,
+      int limit
+  ) {
+    Instant upperBound = cursor == null || cursor.getBefore().isAfter(until)
+        ? until : cursor.getBefore();
+    int offset = cursor == null || !cursor.getBefore().equals(upperBound) ? 0 : cursor.getSkip();
+
+    StringBuilder query = new StringBuilder(FIND_EVENTS_QUERY);
+    List<Object> arguments = new ArrayList<>();
+    arguments.add(from.toEpochMilli());
+    arguments.add(upperBound.toEpochMilli());
+
+    if (credentialName != null) {
+      query.append(" and event.credential_name = ?");
+      arguments.add(StringUtils.prependIfMissing(credentialName, "/"));
+    }
+    if (actor != null) {
+      query.append(" and event.actor = ?");
+      arguments.add(actor);
+    }
+    if (readableBy != null) {
+      query.append(READABLE_BY_CONDITION);
+      arguments.add(readableBy);
+    }
+    query.append(" order by event.now desc, event.uuid desc limit ? offset ?");
+    arguments.add(limit);
+    arguments.add(offset);
+
+    return jdbcTemplate.query(
+        query.toString(),
+        arguments.toArray(),
+        (rowSet, rowNum) -> new AuditEventView(
+            uuidFromColumnValue(rowSet.getObject("request_uuid")),
+            Instant.ofEpochMilli(rowSet.getLong("now")),
+            rowSet.getString("operation"),
+            rowSet.getString("credential_name"),
+            rowSet.getString("actor"),
+            rowSet.getBoolean("success"),
+            rowSet.getString("auth_method"),
+            rowSet.getString("method"),
+            rowSet.getString("path"),
+            (Integer) rowSet.getObject("status_code"),
+            rowSet.getString("requester_ip"),
+            rowSet.getString("x_forwarded_for")
+        )
+    );
+  }
+
+  public TimestampCursor nextCursor(
+      List<AuditEventView> events,
+      TimestampCursor cursor,
+      int limit
+  ) {
+    return TimestampCursor.next(
+        events.stream().map(AuditEventView::getNow).collect(Collectors.toList()), cursor, limit);
+  }
 }
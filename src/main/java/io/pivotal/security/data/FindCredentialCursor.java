@@ -0,0 +1,51 @@
+package io.pivotal.security.data;
+
+import io.pivotal.security.exceptions.InvalidQueryParameterException;
+import io.pivotal.security.view.SecretView;
+
+import java.time.Instant;
+
+// Keyset position in the (version_created_at desc, name asc) ordering of find results. The name
+// comes last in the serialized form so that it may itself contain the separator.
+public class FindCredentialCursor {
+
+  private static final String SEPARATOR = ".";
+
+  private final Instant versionCreatedAt;
+  private final String name;
+
+  FindCredentialCursor(Instant versionCreatedAt, String name) {
+    this.versionCreatedAt = versionCreatedAt;
+    this.name = name;
+  }
+
+  public static FindCredentialCursor parse(String cursor) {
+    try {
+      String[] parts = cursor.split("\\" + SEPARATOR, 2);
+      if (parts.length != 2 || parts[1].isEmpty()) {
+        throw new IllegalArgumentException();
+      }
+
+      return new FindCredentialCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), parts[1]);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", "cursor");
+    }
+  }
+
+  public static FindCredentialCursor after(SecretView secretView) {
+    return new FindCredentialCursor(secretView.getVersionCreatedAt(), secretView.getName());
+  }
+
+  public Instant getVersionCreatedAt() {
+    return versionCreatedAt;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return versionCreatedAt.toEpochMilli() + SEPARATOR + name;
+  }
+}
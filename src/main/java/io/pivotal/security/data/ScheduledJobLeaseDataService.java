@@ -0,0 +1,30 @@
+package io.pivotal.security.data;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+// Lets one instance at a time run a scheduled job. A lease is taken with a single conditional
+// update, so instances racing for an expired lease cannot both win it, and the instance that
+// already holds it can renew it.
+@Service
+public class ScheduledJobLeaseDataService {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String holder = UUID.randomUUID().toString();
+
+  @Autowired
+  public ScheduledJobLeaseDataService(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public boolean tryAcquire(String jobName, Instant now, long leaseMillis) {
+    long nowMillis = now.toEpochMilli();
+    return jdbcTemplate.update(
+        "update scheduled_job_lease set holder = ?, expires_at = ?"
+            + " where name = ? and (expires_at <= ? or holder = ?)",
+        holder, nowMillis + leaseMillis, jobName, nowMillis, holder) == 1;
+  }
+}
@@ -1,5 +1,6 @@
 package io.pivotal.security.data;
 
+import com.google.common.collect.Lists;
 import io.pivotal.security.domain.Encryptor;
 import io.pivotal.security.domain.NamedCertificateSecret;
 import io.pivotal.security.domain.NamedJsonSecret;
@@ -26,35 +27,45 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static io.pivotal.security.repository.SecretRepository.BATCH_SIZE;
+import static io.pivotal.security.util.UuidUtil.uuidFromColumnValue;
 
 @Service
 public class SecretDataService {
 
+  // Keeps every "in (...)" list well below the bind parameter limits of the supported databases.
+  static final int MAX_NAMES_PER_QUERY = 500;
+
+  // Find queries page over secret_name, which records when each name's latest version was
+  // created, so that neither ordering nor the cursor needs to aggregate named_secret.
+  private static final String ORDER_BY_NEWEST =
+      " order by name.latest_version_created_at desc, name.name asc";
+
   protected final SecretRepository secretRepository;
   private final SecretNameRepository secretNameRepository;
   private final JdbcTemplate jdbcTemplate;
   private final EncryptionKeyCanaryMapper encryptionKeyCanaryMapper;
-  private final String findMatchingNameQuery =
-      " select name.name, secret.version_created_at from ("
-          + "   select"
-          + "     max(version_created_at) as version_created_at,"
-          + "     secret_name_uuid"
-          + "   from named_secret group by secret_name_uuid"
-          + " ) as secret inner join ("
-          + "   select * from secret_name"
-          + "     where lower(name) like lower(?)"
-          + " ) as name"
-          + " on secret.secret_name_uuid = name.uuid"
-          + " order by version_created_at desc";
+  private final AccessControlCache accessControlCache;
+  private final CredentialPathIndex credentialPathIndex;
+  private final String findMatchingNameQuery;
+  private final String findReadableMatchingNameQuery;
+  private final String findSignedByQuery;
+  private final String findReadableSignedByQuery;
   private Encryptor encryptor;
   private NamedSecretData dao;
 
@@ -64,13 +75,63 @@ public class SecretDataService {
       SecretNameRepository secretNameRepository,
       JdbcTemplate jdbcTemplate,
       EncryptionKeyCanaryMapper encryptionKeyCanaryMapper,
-      Encryptor encryptor
+      Encryptor encryptor,
+      AccessControlCache accessControlCache,
+      CredentialPathIndex credentialPathIndex
   ) {
     this.secretRepository = secretRepository;
     this.secretNameRepository = secretNameRepository;
     this.jdbcTemplate = jdbcTemplate;
     this.encryptionKeyCanaryMapper = encryptionKeyCanaryMapper;
     this.encryptor = encryptor;
+    this.accessControlCache = accessControlCache;
+    this.credentialPathIndex = credentialPathIndex;
+
+    boolean caseSensitiveNames = hasCaseSensitiveNames(jdbcTemplate);
+    String nameMatches = caseSensitiveNames ? "lower(%s) like lower(?)" : "%s like ?";
+    this.findMatchingNameQuery =
+        " select name.name, name.latest_version_created_at as version_created_at"
+            + " from secret_name as name"
+            + " where " + String.format(nameMatches, "name.name")
+            + " and name.latest_version_created_at is not null";
+    this.findReadableMatchingNameQuery =
+        " select name.name, name.latest_version_created_at as version_created_at"
+            + " from secret_name as name"
+            + " inner join access_entry on access_entry.secret_name_uuid = name.uuid"
+            + " where " + String.format(nameMatches, "name.name")
+            + " and name.latest_version_created_at is not null"
+            + " and access_entry.actor = ? and access_entry.read_permission = true";
+    String caNameMatches = caseSensitiveNames
+        ? "lower(certificate.ca_name) = lower(?)" : "certificate.ca_name = ?";
+    this.findSignedByQuery =
+        " select name.name, name.latest_version_created_at as version_created_at"
+            + " from secret_name as name"
+            + " inner join named_secret as secret on secret.secret_name_uuid = name.uuid"
+            + "   and secret.version_created_at = name.latest_version_created_at"
+            + " inner join certificate_secret as certificate on certificate.uuid = secret.uuid"
+            + " where " + caNameMatches;
+    this.findReadableSignedByQuery =
+        " select name.name, name.latest_version_created_at as version_created_at"
+            + " from secret_name as name"
+            + " inner join named_secret as secret on secret.secret_name_uuid = name.uuid"
+            + "   and secret.version_created_at = name.latest_version_created_at"
+            + " inner join certificate_secret as certificate on certificate.uuid = secret.uuid"
+            + " inner join access_entry on access_entry.secret_name_uuid = name.uuid"
+            + " where " + caNameMatches
+            + " and access_entry.actor = ? and access_entry.read_permission = true";
+  }
+
+  // Name columns already compare case-insensitively on MySQL and H2, where matching them
+  // directly lets lookups use their plain indexes. Postgres compares case-sensitively, so there
+  // we match on lower(...), which its expression and trigram indexes are built on.
+  private static boolean hasCaseSensitiveNames(JdbcTemplate jdbcTemplate) {
+    try {
+      String databaseName = ((String) JdbcUtils.extractDatabaseMetaData(
+          jdbcTemplate.getDataSource(), "getDatabaseProductName")).toLowerCase();
+      return databaseName.equals("postgresql");
+    } catch (MetaDataAccessException e) {
+      return true;
+    }
   }
 
   private static String addLeadingSlashIfMissing(String name) {
@@ -90,9 +151,61 @@ public class SecretDataService {
 
     if (secretName.getUuid() == null) {
       namedSecret.setSecretName(secretNameRepository.saveAndFlush(secretName));
+      accessControlCache.invalidate(secretName.getName());
+      credentialPathIndex.add(secretName.getName());
     }
 
-    return (Z) wrap(secretRepository.saveAndFlush(namedSecret));
+    NamedSecretData saved = secretRepository.saveAndFlush(namedSecret);
+    updateLatestVersionCreatedAt(newArrayList(saved));
+    return (Z) wrap(saved);
+  }
+
+  // Stores many new versions with a single flush so that the name, version and access entry
+  // inserts can be batched. The saved versions are returned in the order they were given.
+  public List<NamedSecret> saveAll(List<NamedSecret> namedSecrets) {
+    UUID activeEncryptionKeyUuid = encryptionKeyCanaryMapper.getActiveUuid();
+    List<SecretName> newSecretNames = newArrayList();
+    List<NamedSecretData> namedSecretDatas = newArrayList();
+
+    for (NamedSecret namedSecret : namedSecrets) {
+      NamedSecretData namedSecretData = namedSecret.getDelegate();
+      if (namedSecretData.getEncryptionKeyUuid() == null) {
+        namedSecretData.setEncryptionKeyUuid(activeEncryptionKeyUuid);
+      }
+
+      SecretName secretName = namedSecretData.getSecretName();
+      if (secretName.getUuid() == null && !newSecretNames.contains(secretName)) {
+        newSecretNames.add(secretName);
+      }
+      namedSecretDatas.add(namedSecretData);
+    }
+
+    secretNameRepository.save(newSecretNames);
+    List<NamedSecretData> saved = secretRepository.save(namedSecretDatas);
+    secretRepository.flush();
+    updateLatestVersionCreatedAt(saved);
+
+    for (SecretName secretName : newSecretNames) {
+      accessControlCache.invalidate(secretName.getName());
+      credentialPathIndex.add(secretName.getName());
+    }
+
+    return wrap(saved);
+  }
+
+  // Only ever moves forward, so saves that race, or re-save an older version, cannot rewind it.
+  private void updateLatestVersionCreatedAt(List<NamedSecretData> savedVersions) {
+    jdbcTemplate.batchUpdate(
+        "update secret_name set latest_version_created_at = ?"
+            + " where name = ?"
+            + " and (latest_version_created_at is null or latest_version_created_at < ?)",
+        savedVersions.stream()
+            .map(version -> {
+              long versionCreatedAt = version.getVersionCreatedAt().toEpochMilli();
+              return new Object[]{
+                  versionCreatedAt, version.getSecretName().getName(), versionCreatedAt};
+            })
+            .collect(Collectors.toList()));
   }
 
   public List<String> findAllPaths() {
@@ -104,12 +217,7 @@ public class SecretDataService {
       return newArrayList();
     }
 
-    return secretRepository.findAll().stream()
-        .map(namedSecretData -> namedSecretData.getSecretName().getName())
-        .flatMap(NamedSecretData::fullHierarchyForPath)
-        .distinct()
-        .sorted()
-        .collect(Collectors.toList());
+    return credentialPathIndex.getPaths();
   }
 
   public NamedSecret findMostRecent(String name) {
@@ -124,6 +232,98 @@ public class SecretDataService {
     }
   }
 
+  // Resolves the latest version of every name with a single query, then loads those versions by
+  // id. Results follow the order of the names; names that do not exist are left out.
+  public List<NamedSecret> findMostRecentByNames(List<String> names) {
+    List<UUID> uuids = findMostRecentMetadataByNames(names).stream()
+        .map(SecretMetadata::getUuid)
+        .collect(Collectors.toList());
+    if (uuids.isEmpty()) {
+      return newArrayList();
+    }
+
+    Map<String, NamedSecretData> mostRecentByName = new HashMap<>();
+    for (List<UUID> chunk : Lists.partition(uuids, MAX_NAMES_PER_QUERY)) {
+      for (NamedSecretData namedSecretData : secretRepository.findAll(chunk)) {
+        mostRecentByName.putIfAbsent(
+            namedSecretData.getSecretName().getName().toLowerCase(), namedSecretData);
+      }
+    }
+
+    return wrap(names.stream()
+        .map(name -> mostRecentByName.get(addLeadingSlashIfMissing(name).toLowerCase()))
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList()));
+  }
+
+  // Like findMostRecentByNames, but reads only the identifying columns of each version. Results
+  // follow the order of the names; names that do not exist are left out.
+  public List<SecretMetadata> findMostRecentMetadataByNames(List<String> names) {
+    if (names.isEmpty()) {
+      return newArrayList();
+    }
+
+    Map<String, SecretMetadata> mostRecentByName = new HashMap<>();
+    for (List<String> chunk : Lists.partition(names, MAX_NAMES_PER_QUERY)) {
+      findMostRecentMetadataByNamesQuery(chunk).forEach(metadata ->
+          mostRecentByName.putIfAbsent(metadata.getName().toLowerCase(), metadata));
+    }
+
+    return names.stream()
+        .map(name -> mostRecentByName.get(addLeadingSlashIfMissing(name).toLowerCase()))
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  private List<SecretMetadata> findMostRecentMetadataByNamesQuery(List<String> names) {
+    String placeholders = String.join(",", Collections.nCopies(names.size(), "lower(?)"));
+    return jdbcTemplate.query(
+        " select secret.uuid, secret.type, secret.version_created_at, name.name"
+            + " from named_secret as secret"
+            + " inner join secret_name as name on secret.secret_name_uuid = name.uuid"
+            + " where lower(name.name) in (" + placeholders + ")"
+            + " and secret.version_created_at = ("
+            + "   select max(version_created_at) from named_secret"
+            + "     where secret_name_uuid = name.uuid"
+            + " )",
+        names.stream().map(SecretDataService::addLeadingSlashIfMissing).toArray(),
+        (rowSet, rowNum) -> new SecretMetadata(
+            uuidFromColumnValue(rowSet.getObject("uuid")),
+            rowSet.getString("name"),
+            rowSet.getString("type"),
+            Instant.ofEpochMilli(rowSet.getLong("version_created_at"))
+        )
+    );
+  }
+
+  // Names of certificates whose latest version expires before the given instant, soonest first,
+  // answered from the not_after index alone. Versions created at or after createdBefore are left
+  // out, so certificates regenerated by the caller drop out of later pages and the offset only
+  // has to step past the ones it left alone.
+  public List<String> findCertificatesExpiringBefore(
+      Instant expiringBefore,
+      Instant createdBefore,
+      int offset,
+      int limit
+  ) {
+    return jdbcTemplate.queryForList(
+        " select name.name from certificate_secret as certificate"
+            + " inner join named_secret as secret on certificate.uuid = secret.uuid"
+            + " inner join secret_name as name on secret.secret_name_uuid = name.uuid"
+            + " where certificate.not_after < ? and secret.version_created_at < ?"
+            + " and secret.version_created_at = ("
+            + "   select max(version_created_at) from named_secret"
+            + "     where secret_name_uuid = name.uuid"
+            + " )"
+            + " order by certificate.not_after asc, name.name asc"
+            + " limit ? offset ?",
+        String.class,
+        expiringBefore.toEpochMilli(), createdBefore.toEpochMilli(), limit, offset
+    );
+  }
+
   protected SecretName findSecretName(String name) {
     return secretNameRepository.findOneByNameIgnoreCase(addLeadingSlashIfMissing(name));
   }
@@ -136,6 +336,14 @@ public class SecretDataService {
     return wrap(secretRepository.findOneByUuid(uuid));
   }
 
+  public List<NamedSecret> findAllByUuids(List<UUID> uuids) {
+    List<NamedSecretData> found = new ArrayList<>();
+    for (List<UUID> chunk : Lists.partition(uuids, MAX_NAMES_PER_QUERY)) {
+      found.addAll(secretRepository.findAll(chunk));
+    }
+    return wrap(found);
+  }
+
   public List<SecretView> findContainingName(String name) {
     return findMatchingName("%" + name + "%");
   }
@@ -147,8 +355,78 @@ public class SecretDataService {
     return findMatchingName(path + "%");
   }
 
+  public List<SecretView> findContainingName(String name, FindCredentialCursor cursor, int limit) {
+    return findMatchingNamePage("%" + name + "%", cursor, limit);
+  }
+
+  public List<SecretView> findStartingWithPath(String path, FindCredentialCursor cursor, int limit) {
+    path = addLeadingSlashIfMissing(path);
+    path = StringUtils.appendIfMissing(path, "/");
+
+    return findMatchingNamePage(path + "%", cursor, limit);
+  }
+
+  // Certificates whose latest version was signed by the given CA, newest first.
+  public List<SecretView> findSignedBy(String caName) {
+    return findMatchingName(findSignedByQuery + ORDER_BY_NEWEST, addLeadingSlashIfMissing(caName));
+  }
+
+  public List<SecretView> findSignedBy(String caName, FindCredentialCursor cursor, int limit) {
+    return findPage(findSignedByQuery, cursor, limit, addLeadingSlashIfMissing(caName));
+  }
+
+  // Like the finds above, but only returns credentials the actor may read.
+  public List<SecretView> findContainingName(String name, String actor) {
+    return findMatchingName(findReadableMatchingNameQuery + ORDER_BY_NEWEST, "%" + name + "%", actor);
+  }
+
+  public List<SecretView> findStartingWithPath(String path, String actor) {
+    path = addLeadingSlashIfMissing(path);
+    path = StringUtils.appendIfMissing(path, "/");
+
+    return findMatchingName(findReadableMatchingNameQuery + ORDER_BY_NEWEST, path + "%", actor);
+  }
+
+  public List<SecretView> findContainingName(
+      String name,
+      String actor,
+      FindCredentialCursor cursor,
+      int limit
+  ) {
+    return findPage(findReadableMatchingNameQuery, cursor, limit, "%" + name + "%", actor);
+  }
+
+  public List<SecretView> findStartingWithPath(
+      String path,
+      String actor,
+      FindCredentialCursor cursor,
+      int limit
+  ) {
+    path = addLeadingSlashIfMissing(path);
+    path = StringUtils.appendIfMissing(path, "/");
+
+    return findPage(findReadableMatchingNameQuery, cursor, limit, path + "%", actor);
+  }
+
+  public List<SecretView> findSignedBy(String caName, String actor) {
+    return findMatchingName(findReadableSignedByQuery + ORDER_BY_NEWEST,
+        addLeadingSlashIfMissing(caName), actor);
+  }
+
+  public List<SecretView> findSignedBy(
+      String caName,
+      String actor,
+      FindCredentialCursor cursor,
+      int limit
+  ) {
+    return findPage(findReadableSignedByQuery, cursor, limit, addLeadingSlashIfMissing(caName),
+        actor);
+  }
+
   public boolean delete(String name) {
     long numDeleted = secretNameRepository.deleteByNameIgnoreCase(addLeadingSlashIfMissing(name));
+    accessControlCache.invalidate(name);
+    credentialPathIndex.remove(name);
     return numDeleted > 0;
   }
 
@@ -160,6 +438,63 @@ public class SecretDataService {
         : newArrayList();
   }
 
+  // Loads one page of a credential's versions, newest first, by first reading only the identifying
+  // columns of that page.
+  public List<NamedSecret> findVersionsByName(String name, TimestampCursor cursor, int limit) {
+    long before = cursor == null ? Long.MAX_VALUE : cursor.getBefore().toEpochMilli();
+    int skip = cursor == null ? 0 : cursor.getSkip();
+
+    List<UUID> uuids = jdbcTemplate.query(
+        " select secret.uuid from named_secret as secret"
+            + " inner join secret_name as name on secret.secret_name_uuid = name.uuid"
+            + " where lower(name.name) = lower(?) and secret.version_created_at <= ?"
+            + " order by secret.version_created_at desc, secret.uuid desc"
+            + " limit ? offset ?",
+        new Object[]{addLeadingSlashIfMissing(name), before, limit, skip},
+        (rowSet, rowNum) -> uuidFromColumnValue(rowSet.getObject("uuid"))
+    );
+    if (uuids.isEmpty()) {
+      return newArrayList();
+    }
+
+    Map<UUID, NamedSecret> versionsByUuid = new HashMap<>();
+    for (NamedSecret version : findAllByUuids(uuids)) {
+      versionsByUuid.put(version.getUuid(), version);
+    }
+    return uuids.stream()
+        .map(versionsByUuid::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  // Deletes all but the newest versions of every credential that has more than the given number
+  // of them. Versions created in the same millisecond as the oldest retained one are kept too.
+  public int deleteVersionsBeyond(int retainedVersions) {
+    List<Object> secretNameUuids = jdbcTemplate.query(
+        " select secret_name_uuid from named_secret"
+            + " group by secret_name_uuid having count(*) > ?",
+        new Object[]{retainedVersions},
+        (rowSet, rowNum) -> rowSet.getObject("secret_name_uuid")
+    );
+
+    int deleted = 0;
+    for (Object secretNameUuid : secretNameUuids) {
+      List<Long> oldestRetained = jdbcTemplate.queryForList(
+          " select version_created_at from named_secret where secret_name_uuid = ?"
+              + " order by version_created_at desc limit 1 offset ?",
+          Long.class,
+          secretNameUuid, retainedVersions - 1
+      );
+      if (!oldestRetained.isEmpty()) {
+        deleted += jdbcTemplate.update(
+            "delete from named_secret where secret_name_uuid = ? and version_created_at < ?",
+            secretNameUuid, oldestRetained.get(0)
+        );
+      }
+    }
+    return deleted;
+  }
+
   public Long count() {
     return secretRepository.count();
   }
@@ -183,9 +518,41 @@ public class SecretDataService {
   }
 
   private List<SecretView> findMatchingName(String nameLike) {
+    return findMatchingName(findMatchingNameQuery + ORDER_BY_NEWEST, nameLike);
+  }
+
+  private List<SecretView> findMatchingNamePage(
+      String nameLike,
+      FindCredentialCursor cursor,
+      int limit
+  ) {
+    return findPage(findMatchingNameQuery, cursor, limit, nameLike);
+  }
+
+  private List<SecretView> findPage(
+      String query,
+      FindCredentialCursor cursor,
+      int limit,
+      Object... arguments
+  ) {
+    List<Object> pageArguments = newArrayList(arguments);
+    if (cursor != null) {
+      long before = cursor.getVersionCreatedAt().toEpochMilli();
+      query += " and (name.latest_version_created_at < ?"
+          + " or (name.latest_version_created_at = ? and name.name > ?))";
+      pageArguments.add(before);
+      pageArguments.add(before);
+      pageArguments.add(cursor.getName());
+    }
+    pageArguments.add(limit);
+
+    return findMatchingName(query + ORDER_BY_NEWEST + " limit ?", pageArguments.toArray());
+  }
+
+  private List<SecretView> findMatchingName(String query, Object... arguments) {
     return jdbcTemplate.query(
-        findMatchingNameQuery,
-        new Object[]{nameLike},
+        query,
+        arguments,
         (rowSet, rowNum) -> {
           final Instant versionCreatedAt = Instant
               .ofEpochMilli(rowSet.getLong("version_created_at"));
@@ -0,0 +1,42 @@
+package io.pivotal.security.data;
+
+import io.pivotal.security.entity.NamedCertificateSecretData;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// What is known about a credential version without loading its entity: no ciphertext, no
+// access control list and nothing for Hibernate to track.
+public class SecretMetadata {
+
+  private static final String CERTIFICATE_DISCRIMINATOR = "cert";
+
+  private final UUID uuid;
+  private final String name;
+  private final String secretType;
+  private final Instant versionCreatedAt;
+
+  SecretMetadata(UUID uuid, String name, String discriminator, Instant versionCreatedAt) {
+    this.uuid = uuid;
+    this.name = name;
+    this.secretType = CERTIFICATE_DISCRIMINATOR.equals(discriminator)
+        ? NamedCertificateSecretData.SECRET_TYPE : discriminator;
+    this.versionCreatedAt = versionCreatedAt;
+  }
+
+  public UUID getUuid() {
+    return uuid;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getSecretType() {
+    return secretType;
+  }
+
+  public Instant getVersionCreatedAt() {
+    return versionCreatedAt;
+  }
+}
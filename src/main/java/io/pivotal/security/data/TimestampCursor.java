@@ -0,0 +1,69 @@
+package io.pivotal.security.data;
+
+import io.pivotal.security.exceptions.InvalidQueryParameterException;
+
+import java.time.Instant;
+import java.util.List;
+
+// Keyset position in a newest-first listing ordered by a millisecond timestamp, such as event
+// audit records or credential versions. Rows sharing a millisecond are disambiguated by how many
+// of them were already returned.
+public class TimestampCursor {
+
+  private static final String SEPARATOR = ".";
+
+  private final Instant before;
+  private final int skip;
+
+  TimestampCursor(Instant before, int skip) {
+    this.before = before;
+    this.skip = skip;
+  }
+
+  public static TimestampCursor parse(String cursor) {
+    try {
+      String[] parts = cursor.split("\\" + SEPARATOR);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException();
+      }
+
+      int skip = Integer.parseInt(parts[1]);
+      if (skip < 0) {
+        throw new IllegalArgumentException();
+      }
+
+      return new TimestampCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), skip);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidQueryParameterException("error.invalid_query_parameter", "cursor");
+    }
+  }
+
+  // Only a full page can be followed by more rows. The cursor counts how many rows at the last
+  // returned millisecond have been seen, including those from earlier pages.
+  public static TimestampCursor next(List<Instant> page, TimestampCursor cursor, int limit) {
+    if (page.isEmpty() || page.size() < limit) {
+      return null;
+    }
+
+    Instant last = page.get(page.size() - 1);
+    int skip = (int) page.stream().filter(last::equals).count();
+    if (cursor != null && cursor.getBefore().equals(last) && skip == page.size()) {
+      skip += cursor.getSkip();
+    }
+
+    return new TimestampCursor(last, skip);
+  }
+
+  public Instant getBefore() {
+    return before;
+  }
+
+  public int getSkip() {
+    return skip;
+  }
+
+  @Override
+  public String toString() {
+    return before.toEpochMilli() + SEPARATOR + skip;
+  }
+}
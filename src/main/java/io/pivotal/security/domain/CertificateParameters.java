@@ -16,6 +16,7 @@ import org.springframework.util.StringUtils;
 
 public class CertificateParameters {
 
+  private String keyType;
   private int keyLength;
   private int duration;
   private boolean selfSigned = false;
@@ -37,6 +38,7 @@ public class CertificateParameters {
     this.caName = generationParameters.getCaName();
     this.selfSigned = generationParameters.isSelfSigned();
     this.duration = generationParameters.getDuration();
+    this.keyType = generationParameters.getKeyType();
     this.keyLength = generationParameters.getKeyLength();
     this.isCa = generationParameters.isCa();
   }
@@ -50,10 +52,15 @@ public class CertificateParameters {
     this.caName = caName;
     this.selfSigned = certificateReader.isSelfSigned();
     this.duration = certificateReader.getDurationDays();
+    this.keyType = certificateReader.getKeyType();
     this.keyLength = certificateReader.getKeyLength();
     this.isCa = certificateReader.isCa();
   }
 
+  public String getKeyType() {
+    return keyType;
+  }
+
   public int getKeyLength() {
     return keyLength;
   }
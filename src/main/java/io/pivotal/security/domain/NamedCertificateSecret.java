@@ -5,6 +5,8 @@ import io.pivotal.security.entity.NamedCertificateSecretData;
 import io.pivotal.security.request.AccessControlEntry;
 import io.pivotal.security.request.CertificateSetRequestFields;
 import io.pivotal.security.service.Encryption;
+import io.pivotal.security.util.CertificateReader;
+import java.time.Instant;
 import java.util.List;
 
 public class NamedCertificateSecret extends NamedSecret<NamedCertificateSecret> {
@@ -68,9 +70,14 @@ public class NamedCertificateSecret extends NamedSecret<NamedCertificateSecret>
 
   public NamedCertificateSecret setCertificate(String certificate) {
     delegate.setCertificate(certificate);
+    delegate.setNotAfter(notAfterOf(certificate));
     return this;
   }
 
+  public Instant getNotAfter() {
+    return delegate.getNotAfter();
+  }
+
   public String getPrivateKey() {
     return encryptor.decrypt(
         delegate.getEncryptionKeyUuid(),
@@ -103,6 +110,20 @@ public class NamedCertificateSecret extends NamedSecret<NamedCertificateSecret>
     return delegate.getSecretType();
   }
 
+  // Certificates that cannot be parsed are still stored as given; they just never show up as
+  // expiring.
+  private static Instant notAfterOf(String certificate) {
+    if (certificate == null) {
+      return null;
+    }
+    try {
+      CertificateReader reader = CertificateReader.of(certificate);
+      return reader.isValid() ? reader.getNotAfter() : null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
   public void rotate() {
     String decryptedPrivateKey = this.getPrivateKey();
     this.setPrivateKey(decryptedPrivateKey);
@@ -56,6 +56,10 @@ public class NamedRsaSecret extends NamedSecret<NamedRsaSecret> {
     return delegate.getKeyLength();
   }
 
+  public String getKeyType() {
+    return delegate.getKeyType();
+  }
+
   public String getPublicKey() {
     return delegate.getPublicKey();
   }
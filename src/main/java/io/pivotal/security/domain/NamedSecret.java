@@ -54,6 +54,10 @@ public abstract class NamedSecret<Z extends NamedSecret> {
     return (Z) secretDataService.save(delegate);
   }
 
+  public NamedSecretData getDelegate() {
+    return delegate;
+  }
+
   public void setAccessControlList(List<AccessEntryData> accessEntryData) {
     delegate.getSecretName().setAccessControlList(accessEntryData);
   }
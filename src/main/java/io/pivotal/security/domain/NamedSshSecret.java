@@ -95,6 +95,10 @@ public class NamedSshSecret extends NamedSecret<NamedSshSecret> {
     return new SshPublicKeyParser(getPublicKey()).getKeyLength();
   }
 
+  public String getKeyType() {
+    return new SshPublicKeyParser(getPublicKey()).getKeyType();
+  }
+
   public String getComment() {
     return new SshPublicKeyParser(getPublicKey()).getComment();
   }
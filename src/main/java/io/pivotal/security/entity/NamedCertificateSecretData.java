@@ -1,6 +1,9 @@
 package io.pivotal.security.entity;
 
+import io.pivotal.security.util.InstantMillisecondsConverter;
+import java.time.Instant;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.persistence.PrimaryKeyJoinColumn;
@@ -27,6 +30,10 @@ public class NamedCertificateSecretData extends NamedSecretData<NamedCertificate
   @Column(table = NamedCertificateSecretData.TABLE_NAME)
   private String caName;
 
+  @Convert(converter = InstantMillisecondsConverter.class)
+  @Column(table = NamedCertificateSecretData.TABLE_NAME)
+  private Instant notAfter;
+
   public NamedCertificateSecretData() {
   }
 
@@ -61,6 +68,15 @@ public class NamedCertificateSecretData extends NamedSecretData<NamedCertificate
     return this;
   }
 
+  public Instant getNotAfter() {
+    return notAfter;
+  }
+
+  public NamedCertificateSecretData setNotAfter(Instant notAfter) {
+    this.notAfter = notAfter;
+    return this;
+  }
+
   @Override
   public String getSecretType() {
     return SECRET_TYPE;
@@ -46,4 +46,8 @@ public class NamedRsaSecretData extends NamedSecretData<NamedRsaSecretData> {
     final NamedRsaSecretHelper namedRsaSecretHelper = new NamedRsaSecretHelper(this);
     return namedRsaSecretHelper.getKeyLength();
   }
+
+  public String getKeyType() {
+    return new NamedRsaSecretHelper(this).getKeyType();
+  }
 }
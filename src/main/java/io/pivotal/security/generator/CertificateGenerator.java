@@ -2,6 +2,7 @@ package io.pivotal.security.generator;
 
 import io.pivotal.security.data.CertificateAuthorityService;
 import io.pivotal.security.domain.CertificateParameters;
+import io.pivotal.security.request.KeyType;
 import io.pivotal.security.secret.Certificate;
 import io.pivotal.security.util.CertificateFormatter;
 import java.io.ByteArrayInputStream;
@@ -14,6 +15,10 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.security.spec.InvalidKeySpecException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
@@ -28,6 +33,7 @@ public class CertificateGenerator implements
     SecretGenerator<CertificateParameters, Certificate> {
 
   private final LibcryptoRsaKeyPairGenerator keyGenerator;
+  private final EcKeyPairGenerator ecKeyGenerator;
   private final SignedCertificateGenerator signedCertificateGenerator;
   private final CertificateAuthorityService certificateAuthorityService;
   private final BouncyCastleProvider provider;
@@ -36,10 +42,12 @@ public class CertificateGenerator implements
   @Autowired
   public CertificateGenerator(
       LibcryptoRsaKeyPairGenerator keyGenerator,
+      EcKeyPairGenerator ecKeyGenerator,
       SignedCertificateGenerator signedCertificateGenerator,
       CertificateAuthorityService certificateAuthorityService,
       BouncyCastleProvider provider) {
     this.keyGenerator = keyGenerator;
+    this.ecKeyGenerator = ecKeyGenerator;
     this.signedCertificateGenerator = signedCertificateGenerator;
     this.certificateAuthorityService = certificateAuthorityService;
     this.provider = provider;
@@ -47,31 +55,60 @@ public class CertificateGenerator implements
 
   @Override
   public Certificate generateSecret(CertificateParameters params) {
-    try{
-    KeyPair keyPair = keyGenerator.generateKeyPair(params.getKeyLength());
-
-    if (params.isSelfSigned()) {
-      X509Certificate cert = signedCertificateGenerator.getSelfSigned(keyPair, params);
-      String certPem = CertificateFormatter.pemOf(cert);
-      String privatePem = CertificateFormatter.pemOf(keyPair.getPrivate());
-      return new Certificate(null, certPem, privatePem);
-    } else {
-      Certificate ca = certificateAuthorityService.findMostRecent(params.getCaName());
-
-      String caCertificate = ca.getPublicKeyCertificate();
-      X500Name issuerDn = getSubjectNameOfCa(caCertificate);
-      PrivateKey issuerKey = getPrivateKey(ca.getPrivateKey());
-
-      X509Certificate cert = signedCertificateGenerator
-          .getSignedByIssuer(issuerDn, issuerKey, keyPair, params);
+    try {
+      Issuer issuer = params.isSelfSigned() ? null : loadIssuer(params.getCaName());
+      return generate(params, issuer);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
 
-        String certPem = CertificateFormatter.pemOf(cert);
-        String privatePem = CertificateFormatter.pemOf(keyPair.getPrivate());
-        return new Certificate(caCertificate, certPem, privatePem);
+  // Loads and decrypts each distinct CA once, then generates and signs the
+  // certificates in parallel. Results are in the same order as the parameters.
+  public List<Certificate> generateSecrets(List<CertificateParameters> paramsList) {
+    Map<String, Issuer> issuers = new HashMap<>();
+    try {
+      for (CertificateParameters params : paramsList) {
+        if (!params.isSelfSigned() && !issuers.containsKey(params.getCaName())) {
+          issuers.put(params.getCaName(), loadIssuer(params.getCaName()));
+        }
       }
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
+
+    return paramsList.parallelStream()
+        .map(params -> {
+          try {
+            return generate(params, params.isSelfSigned() ? null : issuers.get(params.getCaName()));
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        })
+        .collect(Collectors.toList());
+  }
+
+  private Certificate generate(CertificateParameters params, Issuer issuer) throws Exception {
+    KeyPair keyPair = KeyType.ECDSA.equals(params.getKeyType())
+        ? ecKeyGenerator.generateKeyPair(params.getKeyLength())
+        : keyGenerator.generateKeyPair(params.getKeyLength());
+    String privatePem = CertificateFormatter.pemOf(keyPair.getPrivate());
+
+    if (issuer == null) {
+      X509Certificate cert = signedCertificateGenerator.getSelfSigned(keyPair, params);
+      return new Certificate(null, CertificateFormatter.pemOf(cert), privatePem);
+    } else {
+      X509Certificate cert = signedCertificateGenerator
+          .getSignedByIssuer(issuer.dn, issuer.privateKey, keyPair, params);
+      return new Certificate(issuer.certificate, CertificateFormatter.pemOf(cert), privatePem);
+    }
+  }
+
+  private Issuer loadIssuer(String caName) throws Exception {
+    Certificate ca = certificateAuthorityService.findMostRecent(caName);
+    String caCertificate = ca.getPublicKeyCertificate();
+    return new Issuer(caCertificate, getSubjectNameOfCa(caCertificate),
+        getPrivateKey(ca.getPrivateKey()));
   }
 
   private PrivateKey getPrivateKey(String privateKey)
@@ -88,4 +125,17 @@ public class CertificateGenerator implements
         .generateCertificate(new ByteArrayInputStream(ca.getBytes()));
     return new X500Name(certificate.getSubjectDN().getName());
   }
+
+  private static class Issuer {
+
+    private final String certificate;
+    private final X500Name dn;
+    private final PrivateKey privateKey;
+
+    Issuer(String certificate, X500Name dn, PrivateKey privateKey) {
+      this.certificate = certificate;
+      this.dn = dn;
+      this.privateKey = privateKey;
+    }
+  }
 }
@@ -0,0 +1,37 @@
+package io.pivotal.security.generator;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+class EcKeyPairGenerator {
+
+  private final BouncyCastleProvider provider;
+
+  @Autowired
+  EcKeyPairGenerator(BouncyCastleProvider provider) {
+    this.provider = provider;
+  }
+
+  public KeyPair generateKeyPair(int keyLength) throws GeneralSecurityException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC", provider);
+    generator.initialize(new ECGenParameterSpec(curveName(keyLength)));
+    return generator.generateKeyPair();
+  }
+
+  private static String curveName(int keyLength) {
+    switch (keyLength) {
+      case 256:
+        return "secp256r1";
+      case 384:
+        return "secp384r1";
+      default:
+        throw new IllegalArgumentException("Unsupported EC key length: " + keyLength);
+    }
+  }
+}
@@ -1,25 +1,107 @@
 package io.pivotal.security.generator;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.pivotal.security.jna.libcrypto.CryptoWrapper;
 import java.security.InvalidKeyException;
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 class LibcryptoRsaKeyPairGenerator {
 
+  static final int[] POOLED_KEY_LENGTHS = {2048, 3072, 4096};
+
+  private final Logger logger = LogManager.getLogger(LibcryptoRsaKeyPairGenerator.class);
   private final CryptoWrapper cryptoWrapper;
+  private final ExecutorService refillWorker;
+  private final Map<Integer, BlockingQueue<KeyPair>> pregeneratedKeys = new HashMap<>();
+  private final Map<Integer, AtomicBoolean> refillScheduled = new HashMap<>();
 
+  // CryptoWrapper serializes every native call, so generation itself cannot run in parallel.
+  // Pre-generating keys in the background takes that cost off the request path instead.
   @Autowired
-  public LibcryptoRsaKeyPairGenerator(CryptoWrapper cryptoWrapper) throws NoSuchAlgorithmException {
+  public LibcryptoRsaKeyPairGenerator(
+      CryptoWrapper cryptoWrapper,
+      @Value("${credentials.key_generation.pregenerated_keys:0}") int pregeneratedKeysPerLength
+  ) throws NoSuchAlgorithmException {
     this.cryptoWrapper = cryptoWrapper;
+
+    if (pregeneratedKeysPerLength > 0) {
+      this.refillWorker = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("rsa-keygen-refill").setDaemon(true).build());
+      for (int keyLength : POOLED_KEY_LENGTHS) {
+        pregeneratedKeys.put(keyLength, new ArrayBlockingQueue<>(pregeneratedKeysPerLength));
+        refillScheduled.put(keyLength, new AtomicBoolean());
+        refill(keyLength);
+      }
+    } else {
+      this.refillWorker = null;
+    }
   }
 
-  public synchronized KeyPair generateKeyPair(int keyLength)
+  public KeyPair generateKeyPair(int keyLength)
       throws InvalidKeyException, InvalidKeySpecException {
+    BlockingQueue<KeyPair> pregenerated = pregeneratedKeys.get(keyLength);
+    if (pregenerated != null) {
+      KeyPair keyPair = pregenerated.poll();
+      refill(keyLength);
+      if (keyPair != null) {
+        return keyPair;
+      }
+    }
+
+    return generate(keyLength);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (refillWorker != null) {
+      refillWorker.shutdownNow();
+    }
+  }
+
+  int pregeneratedKeyCount(int keyLength) {
+    BlockingQueue<KeyPair> pregenerated = pregeneratedKeys.get(keyLength);
+    return pregenerated == null ? 0 : pregenerated.size();
+  }
+
+  // At most one refill per key length is ever queued; it tops the queue up and then clears the
+  // flag, so requests that arrive while it is running do not queue more work behind it.
+  private void refill(int keyLength) {
+    BlockingQueue<KeyPair> pregenerated = pregeneratedKeys.get(keyLength);
+    AtomicBoolean scheduled = refillScheduled.get(keyLength);
+    if (pregenerated.remainingCapacity() == 0 || !scheduled.compareAndSet(false, true)) {
+      return;
+    }
+
+    refillWorker.execute(() -> {
+      try {
+        while (pregenerated.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+          pregenerated.offer(generate(keyLength));
+        }
+      } catch (Exception e) {
+        logger.warn("Failed to pre-generate " + keyLength + " bit RSA key", e);
+      } finally {
+        scheduled.set(false);
+      }
+    });
+  }
+
+  private KeyPair generate(int keyLength) throws InvalidKeySpecException {
     final KeyPair[] keyPair = {null};
     cryptoWrapper.generateKeyPair(keyLength,
         byReference -> keyPair[0] = cryptoWrapper.toKeyPair(byReference));
@@ -1,11 +1,13 @@
 package io.pivotal.security.generator;
 
+import io.pivotal.security.exceptions.ParameterizedValidationException;
 import io.pivotal.security.request.PasswordGenerationParameters;
 import io.pivotal.security.secret.Password;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.List;
 import org.passay.CharacterRule;
-import org.passay.PasswordGenerator;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,20 +17,68 @@ public class PassayStringSecretGenerator implements
   public static final int DEFAULT_LENGTH = 30;
   public static final int MIN_LENGTH = 4;
   public static final int MAX_LENGTH = 200;
-  private final PasswordGenerator passwordGenerator;
 
-  @Autowired
-  PassayStringSecretGenerator(PasswordGenerator passwordGenerator) {
-    this.passwordGenerator = passwordGenerator;
+  private static final int FLAG_COUNT = 5;
+
+  // Indexed by the combination of generation flags; see flagsOf.
+  private final char[][][] requiredCharacters = new char[1 << FLAG_COUNT][][];
+  private final char[][] alphabets = new char[1 << FLAG_COUNT][];
+
+  private final ThreadLocal<SecureRandom> secureRandoms = ThreadLocal.withInitial(() -> {
+    try {
+      return SecureRandom.getInstance("NativePRNGNonBlocking");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  });
+  private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+  PassayStringSecretGenerator() {
+    for (int flags = 0; flags < alphabets.length; flags++) {
+      List<CharacterRule> characterRules = CharacterRuleProvider
+          .getCharacterRules(parametersOf(flags));
+
+      StringBuilder alphabet = new StringBuilder();
+      requiredCharacters[flags] = new char[characterRules.size()][];
+      for (int i = 0; i < characterRules.size(); i++) {
+        String characters = characterRules.get(i).getValidCharacters();
+        requiredCharacters[flags][i] = characters.toCharArray();
+        alphabet.append(characters);
+      }
+      alphabets[flags] = alphabet.toString().toCharArray();
+    }
   }
 
   @Override
   public Password generateSecret(PasswordGenerationParameters parameters) {
     int passwordLength = normalizedSecretLength(parameters.getLength());
+    int flags = flagsOf(parameters);
+    char[] alphabet = alphabets[flags];
+    if (alphabet.length == 0) {
+      throw new ParameterizedValidationException("error.excludes_all_charsets");
+    }
 
-    List<CharacterRule> characterRules = CharacterRuleProvider.getCharacterRules(parameters);
+    SecureRandom random = secureRandoms.get();
+    char[] buffer = buffers.get();
 
-    return new Password(passwordGenerator.generatePassword(passwordLength, characterRules));
+    // One character from each required class, the rest from the whole alphabet, then shuffle.
+    int position = 0;
+    for (char[] characters : requiredCharacters[flags]) {
+      buffer[position++] = characters[random.nextInt(characters.length)];
+    }
+    for (; position < passwordLength; position++) {
+      buffer[position] = alphabet[random.nextInt(alphabet.length)];
+    }
+    for (int i = passwordLength - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      char swap = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = swap;
+    }
+
+    String password = new String(buffer, 0, passwordLength);
+    Arrays.fill(buffer, 0, passwordLength, '\0');
+    return new Password(password);
   }
 
   private int normalizedSecretLength(int length) {
@@ -41,4 +91,20 @@ public class PassayStringSecretGenerator implements
     return passwordLength;
   }
 
+  private static int flagsOf(PasswordGenerationParameters parameters) {
+    return (parameters.isOnlyHex() ? 1 : 0)
+        | (parameters.isIncludeSpecial() ? 1 << 1 : 0)
+        | (parameters.isExcludeNumber() ? 1 << 2 : 0)
+        | (parameters.isExcludeUpper() ? 1 << 3 : 0)
+        | (parameters.isExcludeLower() ? 1 << 4 : 0);
+  }
+
+  private static PasswordGenerationParameters parametersOf(int flags) {
+    return new PasswordGenerationParameters()
+        .setOnlyHex((flags & 1) != 0)
+        .setIncludeSpecial((flags & 1 << 1) != 0)
+        .setExcludeNumber((flags & 1 << 2) != 0)
+        .setExcludeUpper((flags & 1 << 3) != 0)
+        .setExcludeLower((flags & 1 << 4) != 0);
+  }
 }
@@ -14,8 +14,14 @@ public class RandomSerialNumberGenerator {
   *  */
   private static final int NUM_BITS_IN_CERT_SERIAL_NUM = 159;
 
+  private final ThreadLocal<SecureRandom> secureRandoms = new ThreadLocal<>();
+
   public BigInteger generate() throws NoSuchAlgorithmException {
-    return new BigInteger(NUM_BITS_IN_CERT_SERIAL_NUM,
-        SecureRandom.getInstance("NativePRNGNonBlocking"));
+    SecureRandom secureRandom = secureRandoms.get();
+    if (secureRandom == null) {
+      secureRandom = SecureRandom.getInstance("NativePRNGNonBlocking");
+      secureRandoms.set(secureRandom);
+    }
+    return new BigInteger(NUM_BITS_IN_CERT_SERIAL_NUM, secureRandom);
   }
 }
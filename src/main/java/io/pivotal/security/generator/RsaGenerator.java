@@ -1,5 +1,6 @@
 package io.pivotal.security.generator;
 
+import io.pivotal.security.request.KeyType;
 import io.pivotal.security.request.RsaGenerationParameters;
 import io.pivotal.security.secret.RsaKey;
 import io.pivotal.security.util.CertificateFormatter;
@@ -11,16 +12,20 @@ import org.springframework.stereotype.Component;
 public class RsaGenerator implements SecretGenerator<RsaGenerationParameters, RsaKey> {
 
   private final LibcryptoRsaKeyPairGenerator keyGenerator;
+  private final EcKeyPairGenerator ecKeyGenerator;
 
   @Autowired
-  RsaGenerator(LibcryptoRsaKeyPairGenerator keyGenerator) {
+  RsaGenerator(LibcryptoRsaKeyPairGenerator keyGenerator, EcKeyPairGenerator ecKeyGenerator) {
     this.keyGenerator = keyGenerator;
+    this.ecKeyGenerator = ecKeyGenerator;
   }
 
   @Override
   public RsaKey generateSecret(RsaGenerationParameters parameters) {
     try {
-      final KeyPair keyPair = keyGenerator.generateKeyPair(parameters.getKeyLength());
+      final KeyPair keyPair = KeyType.ECDSA.equals(parameters.getKeyType())
+          ? ecKeyGenerator.generateKeyPair(parameters.getKeyLength())
+          : keyGenerator.generateKeyPair(parameters.getKeyLength());
       return new RsaKey(CertificateFormatter.pemOf(keyPair.getPublic()),
           CertificateFormatter.pemOf(keyPair.getPrivate()));
     } catch (Exception e) {
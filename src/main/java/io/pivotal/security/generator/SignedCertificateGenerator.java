@@ -1,9 +1,13 @@
 package io.pivotal.security.generator;
 
 import io.pivotal.security.domain.CertificateParameters;
+import java.io.ByteArrayInputStream;
 import java.security.KeyPair;
 import java.security.PrivateKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPrivateKey;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
@@ -14,9 +18,9 @@ import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.cert.X509ExtensionUtils;
 import org.bouncycastle.cert.X509v3CertificateBuilder;
-import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.auditing.DateTimeProvider;
@@ -30,6 +34,10 @@ public class SignedCertificateGenerator {
   private final BouncyCastleProvider provider;
   private final X509ExtensionUtils x509ExtensionUtils;
 
+  // CertificateFactories are stateful, so each thread keeps its own. ContentSigners are built per
+  // certificate so that no decrypted CA key outlives the request that loaded it.
+  private final ThreadLocal<CertificateFactory> certificateFactories = new ThreadLocal<>();
+
   @Autowired
   SignedCertificateGenerator(
       DateTimeProvider timeProvider,
@@ -45,7 +53,7 @@ public class SignedCertificateGenerator {
 
   X509Certificate getSelfSigned(KeyPair keyPair, CertificateParameters params)
       throws Exception {
-    return getSignedByIssuer(params.getX500Name(), keyPair.getPrivate(), keyPair, params);
+    return sign(params.getX500Name(), buildSigner(keyPair.getPrivate()), keyPair, params);
   }
 
   X509Certificate getSignedByIssuer(
@@ -53,6 +61,14 @@ public class SignedCertificateGenerator {
       PrivateKey issuerKey,
       KeyPair keyPair,
       CertificateParameters params) throws Exception {
+    return sign(issuerDn, buildSigner(issuerKey), keyPair, params);
+  }
+
+  private X509Certificate sign(
+      X500Name issuerDn,
+      ContentSigner contentSigner,
+      KeyPair keyPair,
+      CertificateParameters params) throws Exception {
     Instant now = timeProvider.getNow().toInstant();
     SubjectPublicKeyInfo publicKeyInfo = SubjectPublicKeyInfo
         .getInstance(keyPair.getPublic().getEncoded());
@@ -84,11 +100,32 @@ public class SignedCertificateGenerator {
     certificateBuilder
         .addExtension(Extension.basicConstraints, true, new BasicConstraints(params.isCa()));
 
-    ContentSigner contentSigner = new JcaContentSignerBuilder("SHA256withRSA").setProvider(provider)
-        .build(issuerKey);
-
     X509CertificateHolder holder = certificateBuilder.build(contentSigner);
 
-    return new JcaX509CertificateConverter().setProvider(provider).getCertificate(holder);
+    return (X509Certificate) getCertificateFactory()
+        .generateCertificate(new ByteArrayInputStream(holder.getEncoded()));
+  }
+
+  private ContentSigner buildSigner(PrivateKey signingKey) throws OperatorCreationException {
+    return new JcaContentSignerBuilder(signatureAlgorithmFor(signingKey))
+        .setProvider(provider)
+        .build(signingKey);
+  }
+
+  private CertificateFactory getCertificateFactory() throws CertificateException {
+    CertificateFactory certificateFactory = certificateFactories.get();
+    if (certificateFactory == null) {
+      certificateFactory = CertificateFactory.getInstance("X.509", provider);
+      certificateFactories.set(certificateFactory);
+    }
+    return certificateFactory;
+  }
+
+  private static String signatureAlgorithmFor(PrivateKey issuerKey) {
+    if (issuerKey instanceof ECPrivateKey) {
+      int orderLength = ((ECPrivateKey) issuerKey).getParams().getOrder().bitLength();
+      return orderLength > 256 ? "SHA384withECDSA" : "SHA256withECDSA";
+    }
+    return "SHA256withRSA";
   }
 }
@@ -1,5 +1,6 @@
 package io.pivotal.security.generator;
 
+import io.pivotal.security.request.KeyType;
 import io.pivotal.security.request.SshGenerationParameters;
 import io.pivotal.security.secret.SshKey;
 import io.pivotal.security.util.CertificateFormatter;
@@ -8,27 +9,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.security.KeyPair;
-import java.security.interfaces.RSAPublicKey;
 
 @Component
 public class SshGenerator implements SecretGenerator<SshGenerationParameters, SshKey> {
 
   private LibcryptoRsaKeyPairGenerator keyGenerator;
+  private EcKeyPairGenerator ecKeyGenerator;
 
   @Autowired
-  public SshGenerator(LibcryptoRsaKeyPairGenerator keyGenerator) {
+  public SshGenerator(LibcryptoRsaKeyPairGenerator keyGenerator,
+      EcKeyPairGenerator ecKeyGenerator) {
     this.keyGenerator = keyGenerator;
+    this.ecKeyGenerator = ecKeyGenerator;
   }
 
   @Override
   public SshKey generateSecret(SshGenerationParameters parameters) {
     try {
-      final KeyPair keyPair = keyGenerator.generateKeyPair(parameters.getKeyLength());
+      final KeyPair keyPair = KeyType.ECDSA.equals(parameters.getKeyType())
+          ? ecKeyGenerator.generateKeyPair(parameters.getKeyLength())
+          : keyGenerator.generateKeyPair(parameters.getKeyLength());
       String sshComment = parameters.getSshComment();
       String sshCommentMessage = StringUtils.isEmpty(sshComment) ? "" : " " + sshComment;
 
       String publicKey =
-          CertificateFormatter.derOf((RSAPublicKey) keyPair.getPublic()) + sshCommentMessage;
+          CertificateFormatter.derOf(keyPair.getPublic()) + sshCommentMessage;
       String privateKey = CertificateFormatter.pemOf(keyPair.getPrivate());
 
       return new SshKey(publicKey, privateKey, null);
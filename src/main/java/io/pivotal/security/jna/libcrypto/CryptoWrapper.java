@@ -29,6 +29,8 @@ public class CryptoWrapper {
     keyFactory = KeyFactory.getInstance(ALGORITHM, bouncyCastleProvider);
   }
 
+  // The RSA and BIGNUM mappings follow the OpenSSL 1.0.x struct layouts, and 1.0.x libcrypto is
+  // not thread safe without locking callbacks, so every native call is serialized on this object.
   public synchronized <E extends Throwable> void
       generateKeyPair(int keyLength, CheckedConsumer<Pointer, E> consumer) throws E {
     Pointer bne = Crypto.BN_new();
@@ -4,9 +4,13 @@ import io.pivotal.security.entity.NamedSecretData;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.UUID;
+import javax.persistence.QueryHint;
+
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
 
 public interface SecretRepository extends JpaRepository<NamedSecretData, UUID> {
 
@@ -20,6 +24,8 @@ public interface SecretRepository extends JpaRepository<NamedSecretData, UUID> {
 
   Slice<NamedSecretData> findByEncryptionKeyUuidIn(List<UUID> encryptionKeyUuids, Pageable page);
 
+  // Only ever read to build responses, so skip keeping snapshots for dirty checking.
+  @QueryHints(@QueryHint(name = READ_ONLY, value = "true"))
   List<NamedSecretData> findAllBySecretNameUuid(UUID uuid);
 
   NamedSecretData findFirstBySecretNameUuidOrderByVersionCreatedAtDesc(UUID uuid);
@@ -19,4 +19,8 @@ public enum AccessControlOperation {
   public String getOperation() {
     return operation;
   }
+
+  public int getMask() {
+    return 1 << ordinal();
+  }
 }
@@ -0,0 +1,45 @@
+package io.pivotal.security.request;
+
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+public abstract class BaseBulkSecretRequest<T extends BaseSecretRequest> {
+
+  // Every credential in a request is written in one transaction, so keep that transaction short.
+  public static final int MAX_CREDENTIALS = 100;
+
+  private List<T> credentials;
+
+  public List<T> getCredentials() {
+    return credentials;
+  }
+
+  public void setCredentials(List<T> credentials) {
+    this.credentials = credentials;
+  }
+
+  public void validate() {
+    if (credentials == null || credentials.isEmpty()) {
+      throw new ParameterizedValidationException("error.missing_credentials");
+    }
+
+    if (credentials.size() > MAX_CREDENTIALS) {
+      throw new ParameterizedValidationException("error.too_many_credentials",
+          String.valueOf(MAX_CREDENTIALS));
+    }
+
+    for (T credential : credentials) {
+      credential.validate();
+    }
+
+    long distinctNames = credentials.stream()
+        .map(credential -> StringUtils.prependIfMissing(credential.getName(), "/").toLowerCase())
+        .distinct()
+        .count();
+    if (distinctNames != credentials.size()) {
+      throw new ParameterizedValidationException("error.duplicate_name");
+    }
+  }
+}
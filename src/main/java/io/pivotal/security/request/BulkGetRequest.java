@@ -0,0 +1,43 @@
+package io.pivotal.security.request;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+@JsonAutoDetect
+@SuppressWarnings("unused")
+public class BulkGetRequest {
+
+  public static final int MAX_NAMES = 500;
+
+  private List<String> names;
+
+  public BulkGetRequest() {
+    /* this needs to be there for jackson to be happy */
+  }
+
+  public BulkGetRequest(List<String> names) {
+    this.names = names;
+  }
+
+  public List<String> getNames() {
+    return names;
+  }
+
+  public void setNames(List<String> names) {
+    this.names = names;
+  }
+
+  public void validate() {
+    if (names == null || names.isEmpty() || names.stream().anyMatch(StringUtils::isEmpty)) {
+      throw new ParameterizedValidationException("error.missing_name");
+    }
+
+    if (names.size() > MAX_NAMES) {
+      throw new ParameterizedValidationException("error.too_many_names",
+          String.valueOf(MAX_NAMES));
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package io.pivotal.security.request;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import org.apache.commons.lang3.StringUtils;
+
+@JsonAutoDetect
+@SuppressWarnings("unused")
+public class BulkRegenerateRequest {
+
+  private String path;
+
+  public BulkRegenerateRequest() {
+    /* this needs to be there for jackson to be happy */
+  }
+
+  public BulkRegenerateRequest(String path) {
+    this.path = path;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  public void validate() {
+    if (StringUtils.isEmpty(path)) {
+      throw new ParameterizedValidationException("error.missing_path");
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package io.pivotal.security.request;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+
+@JsonAutoDetect
+public class BulkSetRequest extends BaseBulkSecretRequest<BaseSecretSetRequest> {
+}
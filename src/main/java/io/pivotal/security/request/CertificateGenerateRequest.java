@@ -33,13 +33,11 @@ public class CertificateGenerateRequest extends BaseSecretGenerateRequest {
   }
 
   public BaseSecretSetRequest generateSetRequest(GeneratorService generatorService) {
+    return createSetRequest(generatorService.generateCertificate(getCertificateParameters()));
+  }
+
+  public BaseSecretSetRequest createSetRequest(Certificate certificate) {
     CertificateSetRequest certificateSetRequest = new CertificateSetRequest();
-    String caName= null;
-    if (certificateParameters == null) {
-       certificateParameters = new CertificateParameters(getGenerationParameters());
-       caName = certificateParameters.getCaName();
-    }
-    Certificate certificate = generatorService.generateCertificate(certificateParameters);
     certificateSetRequest.setName(getName());
     certificateSetRequest.setType(getType());
     certificateSetRequest.setOverwrite(isOverwrite());
@@ -48,7 +46,7 @@ public class CertificateGenerateRequest extends BaseSecretGenerateRequest {
         certificate.getPrivateKey(),
         certificate.getPublicKeyCertificate(),
         certificate.getCaCertificate(),
-        caName);
+        getCertificateParameters().getCaName());
 
     certificateSetRequest.setCertificateFields(certificateSetRequestFields);
     certificateSetRequest.setAccessControlEntries(getAccessControlEntries());
@@ -56,6 +54,14 @@ public class CertificateGenerateRequest extends BaseSecretGenerateRequest {
     return certificateSetRequest;
   }
 
+  @JsonIgnore
+  public CertificateParameters getCertificateParameters() {
+    if (certificateParameters == null) {
+      certificateParameters = new CertificateParameters(getGenerationParameters());
+    }
+    return certificateParameters;
+  }
+
   public void setCertificateParameters(
       CertificateParameters certificateParameters) {
     this.certificateParameters = certificateParameters;
@@ -26,7 +26,8 @@ public class CertificateGenerationParameters {
   private String organizationUnit;
   private String locality;
   // Optional Certificate Parameters (not used in RDN)
-  private int keyLength = 2048;
+  private String keyType = KeyType.RSA;
+  private Integer keyLength;
 
   private int duration = 365;
   private boolean selfSigned = false;
@@ -36,7 +37,6 @@ public class CertificateGenerationParameters {
 
   private String[] extendedKeyUsage;
   private String[] keyUsage;
-  private List<Integer> validKeyLengths = Arrays.asList(2048, 3072, 4096);
   private static final Pattern DNS_WILDCARD_PATTERN = Pattern
       .compile("^\\*?(?:\\.[a-zA-Z0-9\\-]+)*$");
 
@@ -77,8 +77,16 @@ public class CertificateGenerationParameters {
     this.country = country;
   }
 
+  public String getKeyType() {
+    return keyType;
+  }
+
+  public void setKeyType(String keyType) {
+    this.keyType = keyType;
+  }
+
   public int getKeyLength() {
-    return keyLength;
+    return keyLength != null ? keyLength : KeyType.defaultKeyLength(keyType);
   }
 
   public void setKeyLength(int keyLength) {
@@ -186,9 +194,7 @@ public class CertificateGenerationParameters {
       throw new ParameterizedValidationException("error.ca_and_self_sign");
     }
 
-    if (!validKeyLengths.contains(keyLength)) {
-      throw new ParameterizedValidationException("error.invalid_key_length");
-    }
+    KeyType.validate(keyType, getKeyLength());
 
     if (alternativeNames != null) {
       for (String name : alternativeNames) {
@@ -0,0 +1,35 @@
+package io.pivotal.security.request;
+
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import java.util.Arrays;
+import java.util.List;
+
+public final class KeyType {
+
+  public static final String RSA = "rsa";
+  public static final String ECDSA = "ecdsa";
+
+  private static final List<Integer> VALID_RSA_KEY_LENGTHS = Arrays.asList(2048, 3072, 4096);
+  private static final List<Integer> VALID_ECDSA_KEY_LENGTHS = Arrays.asList(256, 384);
+
+  private KeyType() {
+  }
+
+  static int defaultKeyLength(String keyType) {
+    return ECDSA.equals(keyType) ? 256 : 2048;
+  }
+
+  static void validate(String keyType, int keyLength) {
+    if (RSA.equals(keyType)) {
+      if (!VALID_RSA_KEY_LENGTHS.contains(keyLength)) {
+        throw new ParameterizedValidationException("error.invalid_key_length");
+      }
+    } else if (ECDSA.equals(keyType)) {
+      if (!VALID_ECDSA_KEY_LENGTHS.contains(keyLength)) {
+        throw new ParameterizedValidationException("error.invalid_ecdsa_key_length");
+      }
+    } else {
+      throw new ParameterizedValidationException("error.invalid_key_type");
+    }
+  }
+}
@@ -1,22 +1,24 @@
 package io.pivotal.security.request;
 
-import io.pivotal.security.exceptions.ParameterizedValidationException;
-import java.util.Arrays;
-import java.util.List;
-
 public class RsaSshGenerationParameters{
 
-  private int keyLength = 2048;
-  private List<Integer> validKeyLengths = Arrays.asList(2048, 3072, 4096);
+  private String keyType = KeyType.RSA;
+  private Integer keyLength;
 
   public void validate() {
-    if (!validKeyLengths.contains(keyLength)) {
-      throw new ParameterizedValidationException("error.invalid_key_length");
-    }
+    KeyType.validate(keyType, getKeyLength());
+  }
+
+  public String getKeyType() {
+    return keyType;
+  }
+
+  public void setKeyType(String keyType) {
+    this.keyType = keyType;
   }
 
   public Integer getKeyLength() {
-    return keyLength;
+    return keyLength != null ? keyLength : KeyType.defaultKeyLength(keyType);
   }
 
   public void setKeyLength(int keyLength) {
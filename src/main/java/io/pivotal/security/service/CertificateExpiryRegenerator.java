@@ -0,0 +1,126 @@
+package io.pivotal.security.service;
+
+import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_ACCESS;
+
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.domain.NamedSecret;
+import io.pivotal.security.exceptions.ParameterizedValidationException;
+import io.pivotal.security.request.BaseSecretGenerateRequest;
+import io.pivotal.security.service.regeneratables.CertificateSecretRegeneratable;
+import io.pivotal.security.view.SecretView;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CertificateExpiryRegenerator {
+
+  static final int BATCH_SIZE = 50;
+
+  private final SecretDataService secretDataService;
+  private final GenerateService generateService;
+  private final EventAuditLogService eventAuditLogService;
+  private final int regenerateWithinDays;
+  private final CertificateSecretRegeneratable regeneratable = new CertificateSecretRegeneratable();
+  private final Logger logger;
+
+  @Autowired
+  CertificateExpiryRegenerator(
+      SecretDataService secretDataService,
+      GenerateService generateService,
+      EventAuditLogService eventAuditLogService,
+      @Value("${credentials.certificates.regenerate_within_days:0}") int regenerateWithinDays
+  ) {
+    this.secretDataService = secretDataService;
+    this.generateService = generateService;
+    this.eventAuditLogService = eventAuditLogService;
+    this.regenerateWithinDays = regenerateWithinDays;
+    this.logger = LogManager.getLogger(this.getClass());
+  }
+
+  public int regenerate() {
+    return regenerate(() -> true);
+  }
+
+  // Asks canContinue before every batch after the first, so a caller holding a lease can renew
+  // it and stop the run once it no longer can.
+  public int regenerate(BooleanSupplier canContinue) {
+    if (regenerateWithinDays < 1) {
+      return 0;
+    }
+
+    final long start = System.currentTimeMillis();
+    Instant startedAt = Instant.ofEpochMilli(start);
+    Instant expiringBefore = startedAt.plus(regenerateWithinDays, ChronoUnit.DAYS);
+    int regenerated = 0;
+    int leftAlone = 0;
+
+    List<String> names = null;
+    do {
+      if (names != null && !canContinue.getAsBoolean()) {
+        logger.warn("Stopped regenerating expiring certificates after " + regenerated
+            + " were regenerated because the run could not continue.");
+        break;
+      }
+      names = secretDataService
+          .findCertificatesExpiringBefore(expiringBefore, startedAt, leftAlone, BATCH_SIZE);
+      if (names.isEmpty()) {
+        break;
+      }
+
+      List<String> notRegeneratable = new ArrayList<>();
+      try {
+        regenerated += regenerateBatch(names, notRegeneratable).size();
+        leftAlone += notRegeneratable.size();
+      } catch (RuntimeException e) {
+        logger.error("Failed to regenerate expiring certificates " + names, e);
+        leftAlone += names.size();
+      }
+    } while (names.size() == BATCH_SIZE);
+
+    final long duration = System.currentTimeMillis() - start;
+    if (regenerated > 0 || leftAlone > 0) {
+      logger.info("Regenerated " + regenerated + " certificates expiring within "
+          + regenerateWithinDays + " days in " + duration + " milliseconds; " + leftAlone
+          + " could not be regenerated.");
+    }
+    return regenerated;
+  }
+
+  // Each batch is written and audited in its own transaction. There is no user behind a
+  // scheduled run, so the audit records carry no actor.
+  private List<SecretView> regenerateBatch(List<String> names, List<String> notRegeneratable) {
+    return eventAuditLogService.performWithAuditingForRequest(
+        UUID.randomUUID(), new UserContext(), eventAuditRecordBuilder -> {
+          List<BaseSecretGenerateRequest> generateRequests = new ArrayList<>();
+          for (NamedSecret secret : secretDataService.findMostRecentByNames(names)) {
+            try {
+              BaseSecretGenerateRequest generateRequest = regeneratable
+                  .createGenerateRequest(secret);
+              generateRequest.setOverwrite(true);
+              generateRequests.add(generateRequest);
+            } catch (ParameterizedValidationException e) {
+              notRegeneratable.add(secret.getName());
+            }
+          }
+
+          if (generateRequests.isEmpty()) {
+            eventAuditRecordBuilder.setAuditingOperationCode(CREDENTIAL_ACCESS);
+            return Collections.<SecretView>emptyList();
+          }
+          return generateService
+              .performGenerates(eventAuditRecordBuilder, generateRequests, null);
+        });
+  }
+}
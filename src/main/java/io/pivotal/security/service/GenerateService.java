@@ -4,10 +4,17 @@ import io.pivotal.security.audit.EventAuditRecordBuilder;
 import io.pivotal.security.request.AccessControlEntry;
 import io.pivotal.security.request.BaseSecretGenerateRequest;
 import io.pivotal.security.request.BaseSecretSetRequest;
+import io.pivotal.security.request.CertificateGenerateRequest;
+import io.pivotal.security.secret.Certificate;
 import io.pivotal.security.view.SecretView;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 public class GenerateService {
 
@@ -24,4 +31,38 @@ public class GenerateService {
     BaseSecretSetRequest setRequest = requestBody.generateSetRequest(generatorService);
     return setService.performSet(auditRecordBuilder, setRequest, currentUserAccessControlEntry);
   }
+
+  public List<SecretView> performGenerates(EventAuditRecordBuilder auditRecordBuilder, List<BaseSecretGenerateRequest> requestBodies, AccessControlEntry currentUserAccessControlEntry) {
+    Map<BaseSecretGenerateRequest, BaseSecretSetRequest> certificateSetRequests =
+        generateCertificateSetRequests(requestBodies);
+    List<BaseSecretSetRequest> setRequests = requestBodies.parallelStream()
+        .map(requestBody -> certificateSetRequests.containsKey(requestBody)
+            ? certificateSetRequests.get(requestBody)
+            : requestBody.generateSetRequest(generatorService))
+        .collect(Collectors.toList());
+    return setService.performSets(auditRecordBuilder, setRequests, currentUserAccessControlEntry);
+  }
+
+  // Certificates are generated together so that each CA is only loaded and decrypted once.
+  private Map<BaseSecretGenerateRequest, BaseSecretSetRequest> generateCertificateSetRequests(
+      List<BaseSecretGenerateRequest> requestBodies) {
+    List<CertificateGenerateRequest> certificateRequests = requestBodies.stream()
+        .filter(CertificateGenerateRequest.class::isInstance)
+        .map(CertificateGenerateRequest.class::cast)
+        .collect(Collectors.toList());
+    Map<BaseSecretGenerateRequest, BaseSecretSetRequest> setRequests = new IdentityHashMap<>();
+    if (certificateRequests.isEmpty()) {
+      return setRequests;
+    }
+
+    List<Certificate> certificates = generatorService.generateCertificates(certificateRequests
+        .stream()
+        .map(CertificateGenerateRequest::getCertificateParameters)
+        .collect(Collectors.toList()));
+    for (int i = 0; i < certificateRequests.size(); i++) {
+      setRequests.put(certificateRequests.get(i),
+          certificateRequests.get(i).createSetRequest(certificates.get(i)));
+    }
+    return setRequests;
+  }
 }
@@ -11,6 +11,7 @@ import io.pivotal.security.request.SshGenerationParameters;
 import io.pivotal.security.secret.Certificate;
 import io.pivotal.security.secret.RsaKey;
 import io.pivotal.security.secret.SshKey;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -49,4 +50,8 @@ public class GeneratorService {
   public Certificate generateCertificate(CertificateParameters generationParameters) {
     return certificateGenerator.generateSecret(generationParameters);
   }
+
+  public List<Certificate> generateCertificates(List<CertificateParameters> generationParameters) {
+    return certificateGenerator.generateSecrets(generationParameters);
+  }
 }
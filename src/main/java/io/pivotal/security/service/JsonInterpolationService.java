@@ -1,83 +1,126 @@
 package io.pivotal.security.service;
 
-import com.jayway.jsonpath.DocumentContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jayway.jsonpath.InvalidJsonException;
-import io.pivotal.security.config.JsonContextFactory;
 import io.pivotal.security.data.SecretDataService;
 import io.pivotal.security.domain.NamedJsonSecret;
 import io.pivotal.security.domain.NamedSecret;
 import io.pivotal.security.exceptions.ParameterizedValidationException;
+import java.io.InputStream;
 import java.io.InvalidObjectException;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import net.minidev.json.JSONArray;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JsonInterpolationService {
 
-  private final JsonContextFactory jsonContextFactory;
+  private final ObjectMapper objectMapper;
 
-  public JsonInterpolationService(JsonContextFactory jsonContextFactory) {
-    this.jsonContextFactory = jsonContextFactory;
+  @Autowired
+  public JsonInterpolationService(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
   }
 
-  public DocumentContext interpolateCredhubReferences(String requestBody,
+  // Parses the request once, collecting every credhub-ref on the way, then resolves all of them
+  // with a single lookup and decrypts the referenced credentials in parallel. The returned tree
+  // is written straight to the response by the message converter.
+  public JsonNode interpolateCredhubReferences(InputStream requestBody,
       SecretDataService secretDataService) throws Exception {
-    DocumentContext requestJson = parseToJson(requestBody);
-
-    Object request = requestJson.json();
-    if (!(request instanceof Map)) {
+    JsonNode request = parseToJson(requestBody);
+    if (!request.isObject()) {
       throw new InvalidJsonException();
     }
 
-    Map<String, Object> requestAsMap = (Map<String, Object>) request;
-    Object vcapServices = requestAsMap.get("VCAP_SERVICES");
-    if (vcapServices != null && vcapServices instanceof Map) {
-      Map<String, Object> vcapServicesMap = (LinkedHashMap<String, Object>) vcapServices;
-      for (Object serviceProperties : vcapServicesMap.values()) {
-        if (!(serviceProperties instanceof JSONArray)) {
+    List<ObjectNode> referencingProperties = new ArrayList<>();
+    List<String> secretNames = new ArrayList<>();
+    JsonNode vcapServices = request.get("VCAP_SERVICES");
+    if (vcapServices != null && vcapServices.isObject()) {
+      for (JsonNode serviceProperties : vcapServices) {
+        if (!serviceProperties.isArray()) {
           continue;
         }
-        JSONArray servicePropertiesAsArray = (JSONArray) serviceProperties;
-        for (Object properties : servicePropertiesAsArray) {
-          if (!(properties instanceof Map)) {
+        for (JsonNode properties : serviceProperties) {
+          if (!properties.isObject()) {
             continue;
           }
-          Map<String, Object> propertiesMap = (Map<String, Object>) properties;
-          Object credentials = propertiesMap.get("credentials");
-          if (!(credentials instanceof Map)) {
+          JsonNode credentials = properties.get("credentials");
+          if (credentials == null || !credentials.isObject()) {
             continue;
           }
-          Map<String, Object> credentialsWrapper = (Map<String, Object>) credentials;
-          if (credentialsWrapper != null && credentialsWrapper.get("credhub-ref") != null) {
-            Object credhubRef = credentialsWrapper.get("credhub-ref");
-            if (!(credhubRef instanceof String)) {
-              continue;
-            }
-            String secretName = getSecretNameFromRef((String) credhubRef);
-            NamedSecret namedSecret = secretDataService.findMostRecent(secretName);
-            if (namedSecret == null) {
-              throw new InvalidObjectException("error.invalid_access");
-            }
-            if (namedSecret instanceof NamedJsonSecret) {
-              propertiesMap.put("credentials", ((NamedJsonSecret) namedSecret).getValue());
-            } else {
-              throw new ParameterizedValidationException("error.invalid_interpolation_type",
-                  secretName);
-            }
+          JsonNode credhubRef = credentials.get("credhub-ref");
+          if (credhubRef == null || !credhubRef.isTextual()) {
+            continue;
           }
+          referencingProperties.add((ObjectNode) properties);
+          secretNames.add(getSecretNameFromRef(credhubRef.asText()));
         }
       }
     }
-    return requestJson;
+
+    if (referencingProperties.isEmpty()) {
+      return request;
+    }
+
+    Map<String, JsonNode> credentialsByName = resolve(secretNames, secretDataService);
+    for (int i = 0; i < referencingProperties.size(); i++) {
+      referencingProperties.get(i)
+          .set("credentials", credentialsByName.get(normalize(secretNames.get(i))));
+    }
+    return request;
+  }
+
+  private Map<String, JsonNode> resolve(List<String> secretNames,
+      SecretDataService secretDataService) throws InvalidObjectException {
+    Map<String, NamedSecret> secretsByName = new HashMap<>();
+    for (NamedSecret namedSecret : secretDataService.findMostRecentByNames(secretNames)) {
+      secretsByName.put(normalize(namedSecret.getName()), namedSecret);
+    }
+
+    // Check every reference, in order, before decrypting anything.
+    for (String secretName : secretNames) {
+      NamedSecret namedSecret = secretsByName.get(normalize(secretName));
+      if (namedSecret == null) {
+        throw new InvalidObjectException("error.invalid_access");
+      }
+      if (!(namedSecret instanceof NamedJsonSecret)) {
+        throw new ParameterizedValidationException("error.invalid_interpolation_type",
+            secretName);
+      }
+    }
+
+    Map<String, JsonNode> credentialsByName = new ConcurrentHashMap<>();
+    secretsByName.entrySet().parallelStream().forEach(entry ->
+        credentialsByName.put(entry.getKey(),
+            objectMapper.valueToTree(((NamedJsonSecret) entry.getValue()).getValue())));
+    return credentialsByName;
   }
 
   private String getSecretNameFromRef(String credhubRef) {
     return credhubRef.replaceFirst("^\\(\\(", "").replaceFirst("\\)\\)$", "");
   }
 
-  private DocumentContext parseToJson(String requestBody) throws Exception {
-    return jsonContextFactory.getParseContext().parse(requestBody);
+  private static String normalize(String secretName) {
+    return StringUtils.prependIfMissing(secretName, "/").toLowerCase();
+  }
+
+  private JsonNode parseToJson(InputStream requestBody) throws Exception {
+    try {
+      JsonNode request = objectMapper.readTree(requestBody);
+      if (request == null) {
+        throw new InvalidJsonException();
+      }
+      return request;
+    } catch (JsonProcessingException e) {
+      throw new InvalidJsonException(e);
+    }
   }
 }
@@ -3,11 +3,20 @@ package io.pivotal.security.service;
 import io.pivotal.security.auth.UserContext;
 import io.pivotal.security.data.AccessControlDataService;
 import io.pivotal.security.exceptions.PermissionException;
+import io.pivotal.security.request.AccessControlOperation;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.google.common.collect.Lists.newArrayList;
+
 @Service
 public class PermissionService {
 
@@ -30,6 +39,42 @@ public class PermissionService {
     }
   }
 
+  // The actor whose read entries restrict listings, or null when ACLs are not enforced. Users
+  // without an ACL identity get an empty actor, which matches no entries.
+  public String getReadFilterActor(UserContext user) {
+    if (!enforcePermissions) {
+      return null;
+    }
+
+    String actor = getActorFromUserContext(user);
+    return actor == null ? "" : actor;
+  }
+
+  public List<String> filterPermitted(
+      UserContext user,
+      Collection<String> credentialNames,
+      AccessControlOperation operation
+  ) {
+    if (!enforcePermissions) {
+      return credentialNames.stream().collect(Collectors.toList());
+    }
+
+    String actor = getActorFromUserContext(user);
+    if (StringUtils.isEmpty(actor)) {
+      return newArrayList();
+    }
+
+    Map<String, EnumSet<AccessControlOperation>> permissions =
+        accessControlDataService.getPermissionsForActor(actor);
+
+    return credentialNames.stream()
+        .filter(name -> {
+          EnumSet<AccessControlOperation> operations = permissions.get(name.toLowerCase());
+          return operations != null && operations.contains(operation);
+        })
+        .collect(Collectors.toList());
+  }
+
   private String getActorFromUserContext(UserContext user) {
     return user.getAclUser();
   }
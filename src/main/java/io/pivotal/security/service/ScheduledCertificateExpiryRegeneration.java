@@ -0,0 +1,48 @@
+package io.pivotal.security.service;
+
+import io.pivotal.security.data.ScheduledJobLeaseDataService;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@EnableScheduling
+@Profile({"prod", "dev"})
+class ScheduledCertificateExpiryRegeneration {
+
+  static final String JOB_NAME = "certificate_expiry_regeneration";
+
+  private CertificateExpiryRegenerator certificateExpiryRegenerator;
+  private ScheduledJobLeaseDataService scheduledJobLeaseDataService;
+  private long intervalMillis;
+
+  @Autowired
+  public ScheduledCertificateExpiryRegeneration(
+      CertificateExpiryRegenerator certificateExpiryRegenerator,
+      ScheduledJobLeaseDataService scheduledJobLeaseDataService,
+      @Value("${credentials.certificates.regenerate_interval_ms:3600000}") long intervalMillis) {
+    this.certificateExpiryRegenerator = certificateExpiryRegenerator;
+    this.scheduledJobLeaseDataService = scheduledJobLeaseDataService;
+    this.intervalMillis = intervalMillis;
+  }
+
+  // Every instance schedules the job, but only the one holding the lease runs it. The lease
+  // lasts one interval and is renewed by its holder between batches, so the others stay idle
+  // while it is alive. A run that cannot renew the lease stops rather than overlap another.
+  @Scheduled(
+      initialDelayString = "${credentials.certificates.regenerate_interval_ms:3600000}",
+      fixedDelayString = "${credentials.certificates.regenerate_interval_ms:3600000}")
+  public void regenerate() {
+    if (renewLease()) {
+      certificateExpiryRegenerator.regenerate(this::renewLease);
+    }
+  }
+
+  private boolean renewLease() {
+    return scheduledJobLeaseDataService.tryAcquire(JOB_NAME, Instant.now(), intervalMillis);
+  }
+}
@@ -0,0 +1,27 @@
+package io.pivotal.security.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@EnableScheduling
+@Profile({"prod", "dev"})
+class ScheduledVersionRetentionPruning {
+
+  private VersionRetentionPruner versionRetentionPruner;
+
+  @Autowired
+  public ScheduledVersionRetentionPruning(VersionRetentionPruner versionRetentionPruner) {
+    this.versionRetentionPruner = versionRetentionPruner;
+  }
+
+  @Scheduled(
+      initialDelayString = "${credentials.versions.prune_interval_ms:3600000}",
+      fixedDelayString = "${credentials.versions.prune_interval_ms:3600000}")
+  public void prune() {
+    versionRetentionPruner.prune();
+  }
+}
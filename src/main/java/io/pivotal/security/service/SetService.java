@@ -1,16 +1,26 @@
 package io.pivotal.security.service;
 
+import io.pivotal.security.audit.AuditingOperationCode;
 import io.pivotal.security.audit.EventAuditRecordBuilder;
 import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.data.SecretMetadata;
 import io.pivotal.security.domain.Encryptor;
 import io.pivotal.security.domain.NamedSecret;
 import io.pivotal.security.exceptions.ParameterizedValidationException;
 import io.pivotal.security.request.AccessControlEntry;
 import io.pivotal.security.request.BaseSecretSetRequest;
 import io.pivotal.security.view.SecretView;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_ACCESS;
 import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_UPDATE;
 
@@ -54,9 +64,77 @@ public class SetService {
     return SecretView.fromEntity(storedEntity);
   }
 
+  public List<SecretView> performSets(
+      EventAuditRecordBuilder eventAuditRecordBuilder,
+      List<BaseSecretSetRequest> requestBodies,
+      AccessControlEntry currentUserAccessControlEntry) {
+    List<String> secretNames = requestBodies.stream()
+        .map(BaseSecretSetRequest::getName)
+        .collect(Collectors.toList());
+
+    // Check types against the lightweight metadata first so that a rejected batch never loads
+    // any credential, then load only the credentials that already exist.
+    Map<String, SecretMetadata> existingMetadata = new HashMap<>();
+    for (SecretMetadata metadata : secretDataService.findMostRecentMetadataByNames(secretNames)) {
+      existingMetadata.put(normalize(metadata.getName()), metadata);
+    }
+    for (BaseSecretSetRequest requestBody : requestBodies) {
+      SecretMetadata metadata = existingMetadata.get(normalize(requestBody.getName()));
+      if (metadata != null && !metadata.getSecretType().equals(requestBody.getType())) {
+        throw new ParameterizedValidationException("error.type_mismatch");
+      }
+    }
+
+    Map<String, NamedSecret> existingNamedSecrets = new HashMap<>();
+    if (!existingMetadata.isEmpty()) {
+      List<UUID> existingUuids = existingMetadata.values().stream()
+          .map(SecretMetadata::getUuid)
+          .collect(Collectors.toList());
+      for (NamedSecret namedSecret : secretDataService.findAllByUuids(existingUuids)) {
+        existingNamedSecrets.put(normalize(namedSecret.getName()), namedSecret);
+      }
+    }
+
+    List<NamedSecret> storedEntities = new ArrayList<>();
+    List<NamedSecret> newEntities = new ArrayList<>();
+    List<AuditingOperationCode> operationCodes = new ArrayList<>();
+    for (BaseSecretSetRequest requestBody : requestBodies) {
+      NamedSecret existingNamedSecret = existingNamedSecrets.get(normalize(requestBody.getName()));
+
+      if (existingNamedSecret == null) { requestBody.addCurrentUser(currentUserAccessControlEntry); }
+
+      if (existingNamedSecret == null || requestBody.isOverwrite()) {
+        NamedSecret newEntity = requestBody.createNewVersion(existingNamedSecret, encryptor);
+        newEntities.add(newEntity);
+        storedEntities.add(newEntity);
+        operationCodes.add(CREDENTIAL_UPDATE);
+      } else {
+        storedEntities.add(existingNamedSecret);
+        operationCodes.add(CREDENTIAL_ACCESS);
+      }
+    }
+
+    if (!newEntities.isEmpty()) {
+      secretDataService.saveAll(newEntities);
+    }
+
+    eventAuditRecordBuilder.setAuditingOperationCode(newEntities.isEmpty() ? CREDENTIAL_ACCESS : CREDENTIAL_UPDATE);
+    for (int i = 0; i < storedEntities.size(); i++) {
+      eventAuditRecordBuilder.addCredential(storedEntities.get(i).getName(), operationCodes.get(i));
+    }
+
+    return storedEntities.stream()
+        .map(SecretView::fromEntity)
+        .collect(Collectors.toList());
+  }
+
   private void validateSecretType(NamedSecret existingNamedSecret, String secretType) {
     if (existingNamedSecret != null && !existingNamedSecret.getSecretType().equals(secretType)) {
       throw new ParameterizedValidationException("error.type_mismatch");
     }
   }
+
+  private static String normalize(String secretName) {
+    return StringUtils.prependIfMissing(secretName, "/").toLowerCase();
+  }
 }
@@ -0,0 +1,42 @@
+package io.pivotal.security.service;
+
+import io.pivotal.security.data.SecretDataService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VersionRetentionPruner {
+
+  private final SecretDataService secretDataService;
+  private final int retainedVersions;
+  private final Logger logger;
+
+  @Autowired
+  VersionRetentionPruner(
+      SecretDataService secretDataService,
+      @Value("${credentials.versions.retain:0}") int retainedVersions
+  ) {
+    this.secretDataService = secretDataService;
+    this.retainedVersions = retainedVersions;
+    this.logger = LogManager.getLogger(this.getClass());
+  }
+
+  public int prune() {
+    if (retainedVersions < 1) {
+      return 0;
+    }
+
+    final long start = System.currentTimeMillis();
+    int deletedVersionCount = secretDataService.deleteVersionsBeyond(retainedVersions);
+    final long duration = System.currentTimeMillis() - start;
+
+    if (deletedVersionCount > 0) {
+      logger.info("Pruned " + deletedVersionCount + " credential versions beyond the newest "
+          + retainedVersions + " in " + duration + " milliseconds.");
+    }
+    return deletedVersionCount;
+  }
+}
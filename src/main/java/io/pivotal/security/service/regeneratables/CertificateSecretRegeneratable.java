@@ -16,7 +16,7 @@ public class CertificateSecretRegeneratable implements Regeneratable {
   @Override
   public BaseSecretGenerateRequest createGenerateRequest(NamedSecret secret) {
     NamedCertificateSecret certificateSecret = (NamedCertificateSecret) secret;
-    CertificateReader reader = new CertificateReader(certificateSecret.getCertificate());
+    CertificateReader reader = CertificateReader.of(certificateSecret.getCertificate());
 
     if (!reader.isValid() || (isEmpty(certificateSecret.getCaName()) && !reader.isSelfSigned())) {
       throw new ParameterizedValidationException(
@@ -4,6 +4,7 @@ import io.pivotal.security.domain.NamedRsaSecret;
 import io.pivotal.security.domain.NamedSecret;
 import io.pivotal.security.request.BaseSecretGenerateRequest;
 import io.pivotal.security.request.RsaGenerateRequest;
+import io.pivotal.security.request.RsaGenerationParameters;
 
 public class RsaSecretRegeneratable implements Regeneratable {
 
@@ -16,6 +17,12 @@ public class RsaSecretRegeneratable implements Regeneratable {
     RsaGenerateRequest generateRequest = new RsaGenerateRequest();
     generateRequest.setName(rsaSecret.getName());
     generateRequest.setType(rsaSecret.getSecretType());
+    RsaGenerationParameters generationParameters = new RsaGenerationParameters();
+    generationParameters.setKeyType(rsaSecret.getKeyType());
+    if (rsaSecret.getKeyLength() > 0) {
+      generationParameters.setKeyLength(rsaSecret.getKeyLength());
+    }
+    generateRequest.setGenerationParameters(generationParameters);
     return generateRequest;
   }
 }
@@ -17,6 +17,10 @@ public class SshSecretRegeneratable implements Regeneratable {
     generateRequest.setType(sshSecret.getSecretType());
     SshGenerationParameters generationParameters = new SshGenerationParameters();
     generationParameters.setSshComment(sshSecret.getComment());
+    if (sshSecret.getKeyType() != null) {
+      generationParameters.setKeyType(sshSecret.getKeyType());
+      generationParameters.setKeyLength(sshSecret.getKeyLength());
+    }
     generateRequest.setGenerationParameters(generationParameters);
     return generateRequest;
   }
@@ -4,13 +4,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECPoint;
 import org.apache.commons.codec.binary.Base64;
 import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
 
 public class CertificateFormatter {
 
   public static final String SSH_RSA = "ssh-rsa";
+  public static final String SSH_ECDSA_PREFIX = "ecdsa-sha2-";
 
   public static String pemOf(Object pemObject) throws IOException {
     StringWriter sw = new StringWriter();
@@ -36,6 +41,46 @@ public class CertificateFormatter {
     return SSH_RSA + " " + publicKeyEncoded;
   }
 
+  // https://tools.ietf.org/html/rfc5656#section-3.1
+  public static String derOf(ECPublicKey publicKey) throws IOException {
+    int fieldSize = publicKey.getParams().getCurve().getField().getFieldSize();
+    String curveIdentifier = "nistp" + fieldSize;
+    String keyType = SSH_ECDSA_PREFIX + curveIdentifier;
+
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    DataOutputStream dataStream = new DataOutputStream(byteStream);
+
+    writeBytesToDataStream(keyType.getBytes(), dataStream);
+    writeBytesToDataStream(curveIdentifier.getBytes(), dataStream);
+    writeBytesToDataStream(uncompressedPointOf(publicKey.getW(), (fieldSize + 7) / 8),
+        dataStream);
+
+    String publicKeyEncoded = new String(Base64.encodeBase64(byteStream.toByteArray()));
+    return keyType + " " + publicKeyEncoded;
+  }
+
+  public static String derOf(PublicKey publicKey) throws IOException {
+    if (publicKey instanceof ECPublicKey) {
+      return derOf((ECPublicKey) publicKey);
+    }
+    return derOf((RSAPublicKey) publicKey);
+  }
+
+  private static byte[] uncompressedPointOf(ECPoint point, int coordinateLength) {
+    byte[] encoded = new byte[1 + 2 * coordinateLength];
+    encoded[0] = 0x04;
+    copyUnsigned(point.getAffineX(), encoded, 1, coordinateLength);
+    copyUnsigned(point.getAffineY(), encoded, 1 + coordinateLength, coordinateLength);
+    return encoded;
+  }
+
+  private static void copyUnsigned(BigInteger value, byte[] dest, int offset, int length) {
+    byte[] bytes = value.toByteArray();
+    int start = bytes.length > length ? bytes.length - length : 0;
+    int count = bytes.length - start;
+    System.arraycopy(bytes, start, dest, offset + length - count, count);
+  }
+
   private static void writeBytesToDataStream(byte[] bytes, DataOutputStream dataStream)
       throws IOException {
     dataStream.writeInt(bytes.length);
@@ -3,13 +3,19 @@ package io.pivotal.security.util;
 import static java.lang.Math.toIntExact;
 import static java.time.temporal.ChronoUnit.DAYS;
 
-import java.io.ByteArrayInputStream;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.pivotal.security.request.KeyType;
+import java.io.IOException;
 import java.io.StringReader;
-import java.security.InvalidKeyException;
-import java.security.SignatureException;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
-import java.security.interfaces.RSAPublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.pkcs.RSAPublicKey;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.BasicConstraints;
 import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
@@ -17,30 +23,58 @@ import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.Extensions;
 import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
+import org.bouncycastle.cert.CertException;
 import org.bouncycastle.cert.X509CertificateHolder;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
-import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.util.io.pem.PemObject;
+import org.bouncycastle.util.io.pem.PemReader;
 
 public class CertificateReader {
 
-  private final X509Certificate certificate;
+  private static final String PEM_TYPE_CERTIFICATE = "CERTIFICATE";
+
+  private static final Cache<String, CertificateReader> readersByFingerprint = CacheBuilder
+      .newBuilder()
+      .maximumSize(1000)
+      .build();
+
   private final X509CertificateHolder certificateHolder;
-  private X500Name subjectName;
+  private volatile Integer keyLength;
+  private volatile Boolean selfSigned;
 
   public CertificateReader(String pemString) {
+    this(holderOf(derOf(pemString)));
+  }
+
+  private CertificateReader(X509CertificateHolder certificateHolder) {
+    this.certificateHolder = certificateHolder;
+  }
+
+  // Readers are immutable, so the same certificate can share one reader (and the
+  // results of its lazily computed fields) across requests.
+  public static CertificateReader of(String pemString) {
+    byte[] der = derOf(pemString);
+    if (der == null) {
+      return new CertificateReader((X509CertificateHolder) null);
+    }
+
     try {
-      certificate = (X509Certificate) CertificateFactory
-          .getInstance("X.509", BouncyCastleProvider.PROVIDER_NAME)
-          .generateCertificate(new ByteArrayInputStream(pemString.getBytes()));
-      certificateHolder = (X509CertificateHolder) (new PEMParser((new StringReader(pemString)))
-          .readObject());
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+      return readersByFingerprint.get(Hex.encodeHexString(DigestUtils.sha256(der)),
+          () -> new CertificateReader(holderOf(der)));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
     }
   }
 
   public boolean isValid() {
-    return certificate != null;
+    return certificateHolder != null;
   }
 
   public GeneralNames getAlternativeNames() {
@@ -52,22 +86,54 @@ public class CertificateReader {
 
   public int getDurationDays() {
     return toIntExact(DAYS.between(
-        certificate.getNotBefore().toInstant(),
-        certificate.getNotAfter().toInstant()
+        certificateHolder.getNotBefore().toInstant(),
+        certificateHolder.getNotAfter().toInstant()
     ));
   }
 
+  public Instant getNotAfter() {
+    return certificateHolder.getNotAfter().toInstant();
+  }
+
   public ExtendedKeyUsage getExtendedKeyUsage() {
     return ExtendedKeyUsage.fromExtensions(certificateHolder.getExtensions());
   }
 
   public X500Name getSubjectName() {
-    subjectName = new X500Name(certificate.getSubjectDN().getName());
-    return subjectName;
+    return certificateHolder.getSubject();
+  }
+
+  public String getKeyType() {
+    return isEcKey() ? KeyType.ECDSA : KeyType.RSA;
   }
 
   public int getKeyLength() {
-    return ((RSAPublicKey) certificate.getPublicKey()).getModulus().bitLength();
+    if (keyLength == null) {
+      SubjectPublicKeyInfo publicKeyInfo = certificateHolder.getSubjectPublicKeyInfo();
+      try {
+        if (isEcKey()) {
+          ASN1Encodable parameters = publicKeyInfo.getAlgorithm().getParameters();
+          X9ECParameters curve = parameters instanceof ASN1ObjectIdentifier
+              ? ECNamedCurveTable.getByOID((ASN1ObjectIdentifier) parameters)
+              : null;
+          if (curve != null) {
+            keyLength = curve.getN().bitLength();
+          } else {
+            // Explicit or unknown curves are left to the provider to decode.
+            ECPublicKey publicKey = (ECPublicKey) new JcaPEMKeyConverter()
+                .setProvider(BouncyCastleProvider.PROVIDER_NAME)
+                .getPublicKey(publicKeyInfo);
+            keyLength = publicKey.getParams().getOrder().bitLength();
+          }
+        } else {
+          keyLength = RSAPublicKey.getInstance(publicKeyInfo.parsePublicKey())
+              .getModulus().bitLength();
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    return keyLength;
   }
 
   public KeyUsage getKeyUsage() {
@@ -75,20 +141,11 @@ public class CertificateReader {
   }
 
   public Boolean isSelfSigned() {
-    final String issuerName = certificate.getIssuerDN().getName();
-
-    if (!issuerName.equals(getSubjectName().toString())) {
-      return false;
-    } else {
-      try {
-        certificate.verify(certificate.getPublicKey());
-        return true;
-      } catch (SignatureException | InvalidKeyException e) {
-        return false;
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      }
+    if (selfSigned == null) {
+      selfSigned = certificateHolder.getIssuer().equals(getSubjectName())
+          && isSignedByOwnKey();
     }
+    return selfSigned;
   }
 
   public boolean isCa() {
@@ -102,4 +159,47 @@ public class CertificateReader {
 
     return basicConstraints != null && basicConstraints.isCA();
   }
+
+  private boolean isEcKey() {
+    return X9ObjectIdentifiers.id_ecPublicKey.equals(
+        certificateHolder.getSubjectPublicKeyInfo().getAlgorithm().getAlgorithm());
+  }
+
+  private boolean isSignedByOwnKey() {
+    try {
+      return certificateHolder.isSignatureValid(new JcaContentVerifierProviderBuilder()
+          .setProvider(BouncyCastleProvider.PROVIDER_NAME)
+          .build(certificateHolder));
+    } catch (CertException e) {
+      return false;
+    } catch (OperatorCreationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static byte[] derOf(String pemString) {
+    try (PemReader pemReader = new PemReader(new StringReader(pemString))) {
+      PemObject pemObject = pemReader.readPemObject();
+      if (pemObject == null) {
+        return null;
+      }
+      if (!PEM_TYPE_CERTIFICATE.equals(pemObject.getType())) {
+        throw new RuntimeException("Expected a certificate but found " + pemObject.getType());
+      }
+      return pemObject.getContent();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static X509CertificateHolder holderOf(byte[] der) {
+    if (der == null) {
+      return null;
+    }
+    try {
+      return new X509CertificateHolder(der);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
@@ -1,13 +1,17 @@
 package io.pivotal.security.util;
 
 import io.pivotal.security.entity.NamedRsaSecretData;
+import io.pivotal.security.request.KeyType;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x9.X9ObjectIdentifiers;
 
 public class NamedRsaSecretHelper {
 
@@ -29,16 +33,39 @@ public class NamedRsaSecretHelper {
     }
 
     try {
-      String key = publicKey
-          .replaceFirst(RSA_START, "")
-          .replaceFirst(RSA_END, "")
-          .replaceAll(NEW_LINE, "");
-      byte[] byteKey = Base64.decodeBase64(key.getBytes());
+      byte[] byteKey = decode(publicKey);
       X509EncodedKeySpec x509publicKey = new X509EncodedKeySpec(byteKey);
+      if (isEc(byteKey)) {
+        KeyFactory kf = KeyFactory.getInstance("EC");
+        return ((ECPublicKey) kf.generatePublic(x509publicKey)).getParams().getOrder().bitLength();
+      }
       KeyFactory kf = KeyFactory.getInstance("RSA");
       return ((RSAPublicKey) kf.generatePublic(x509publicKey)).getModulus().bitLength();
     } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
       throw new RuntimeException(e);
     }
   }
+
+  public String getKeyType() {
+    String publicKey = namedRsaSecretData.getPublicKey();
+
+    if (StringUtils.isEmpty(publicKey)) {
+      return KeyType.RSA;
+    }
+
+    return isEc(decode(publicKey)) ? KeyType.ECDSA : KeyType.RSA;
+  }
+
+  private static byte[] decode(String publicKey) {
+    String key = publicKey
+        .replaceFirst(RSA_START, "")
+        .replaceFirst(RSA_END, "")
+        .replaceAll(NEW_LINE, "");
+    return Base64.decodeBase64(key.getBytes());
+  }
+
+  private static boolean isEc(byte[] byteKey) {
+    return X9ObjectIdentifiers.id_ecPublicKey.equals(
+        SubjectPublicKeyInfo.getInstance(byteKey).getAlgorithm().getAlgorithm());
+  }
 }
\ No newline at end of file
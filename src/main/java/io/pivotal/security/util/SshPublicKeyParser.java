@@ -1,5 +1,6 @@
 package io.pivotal.security.util;
 
+import io.pivotal.security.request.KeyType;
 import org.apache.commons.codec.digest.DigestUtils;
 
 import java.io.ByteArrayInputStream;
@@ -15,6 +16,7 @@ public class SshPublicKeyParser {
   private String fingerprint;
   private String comment;
   private int keyLength;
+  private String keyType;
   private Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
   private Base64.Decoder decoder = Base64.getDecoder();
 
@@ -35,6 +37,10 @@ public class SshPublicKeyParser {
     return keyLength;
   }
 
+  public String getKeyType() {
+    return keyType;
+  }
+
   // https://www.ietf.org/rfc/rfc4253.txt - section 6.6
   // we are parsing the key which consists of multiple precision integers to
   // derive modulus and hence key length
@@ -73,13 +79,20 @@ public class SshPublicKeyParser {
           new ByteArrayInputStream(decodedIsolatedPublicKey)
       );
 
-      readAndRemoveType(dataStream);
-      readAndRemoveExponent(dataStream);
-      keyLength = readAndRemoveKeyLength(dataStream);
+      String type = new String(readAndRemoveType(dataStream));
+      if (type.startsWith(CertificateFormatter.SSH_ECDSA_PREFIX)) {
+        keyLength = readEcdsaKeyLength(dataStream);
+        keyType = KeyType.ECDSA;
+      } else {
+        readAndRemoveExponent(dataStream);
+        keyLength = readAndRemoveKeyLength(dataStream);
+        keyType = KeyType.RSA;
+      }
     } catch (Exception e) {
       comment = null;
       fingerprint = null;
       keyLength = 0;
+      keyType = null;
     }
   }
 
@@ -102,6 +115,14 @@ public class SshPublicKeyParser {
     return modulus.bitLength();
   }
 
+  // https://tools.ietf.org/html/rfc5656#section-3.1
+  // the curve identifier is followed by the uncompressed point 0x04 || X || Y
+  private int readEcdsaKeyLength(DataInputStream dataStream) throws IOException {
+    readIntAsBytesFrom(dataStream);
+    byte[] point = readIntAsBytesFrom(dataStream);
+    return (point.length - 1) / 2 * 8;
+  }
+
   private byte[] readIntAsBytesFrom(DataInputStream dataStream) throws IOException {
     byte[] buf;
     int length = dataStream.readInt();
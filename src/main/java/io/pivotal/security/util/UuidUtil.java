@@ -24,4 +24,13 @@ public class UuidUtil {
     byteBuffer.putLong(uuid.getLeastSignificantBits());
     return byteBuffer.array();
   }
+
+  public static UUID uuidFromColumnValue(Object columnValue) {
+    if (columnValue == null || columnValue instanceof UUID) {
+      return (UUID) columnValue;
+    }
+
+    ByteBuffer byteBuffer = ByteBuffer.wrap((byte[]) columnValue);
+    return new UUID(byteBuffer.getLong(), byteBuffer.getLong());
+  }
 }
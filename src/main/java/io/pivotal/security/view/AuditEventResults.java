@@ -0,0 +1,30 @@
+package io.pivotal.security.view;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+public class AuditEventResults {
+
+  private final List<AuditEventView> events;
+  private final String nextCursor;
+
+  public AuditEventResults(List<AuditEventView> events, String nextCursor) {
+    this.events = events;
+    this.nextCursor = nextCursor;
+  }
+
+  @JsonProperty
+  public List<AuditEventView> getEvents() {
+    return events;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
@@ -0,0 +1,112 @@
+package io.pivotal.security.view;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@SuppressWarnings("unused")
+public class AuditEventView {
+
+  private final UUID requestUuid;
+  private final Instant now;
+  private final String operation;
+  private final String credentialName;
+  private final String actor;
+  private final boolean success;
+  private final String authMethod;
+  private final String method;
+  private final String path;
+  private final Integer statusCode;
+  private final String requesterIp;
+  private final String xForwardedFor;
+
+  @SuppressWarnings("checkstyle:parametername")
+  public AuditEventView(
+      UUID requestUuid,
+      Instant now,
+      String operation,
+      String credentialName,
+      String actor,
+      boolean success,
+      String authMethod,
+      String method,
+      String path,
+      Integer statusCode,
+      String requesterIp,
+      String xForwardedFor
+  ) {
+    this.requestUuid = requestUuid;
+    this.now = now;
+    this.operation = operation;
+    this.credentialName = credentialName;
+    this.actor = actor;
+    this.success = success;
+    this.authMethod = authMethod;
+    this.method = method;
+    this.path = path;
+    this.statusCode = statusCode;
+    this.requesterIp = requesterIp;
+    this.xForwardedFor = xForwardedFor;
+  }
+
+  @JsonProperty("request_id")
+  public String getRequestUuid() {
+    return requestUuid == null ? "" : requestUuid.toString();
+  }
+
+  @JsonProperty("time")
+  public Instant getNow() {
+    return now;
+  }
+
+  @JsonProperty
+  public String getOperation() {
+    return operation;
+  }
+
+  @JsonProperty
+  public String getCredentialName() {
+    return credentialName;
+  }
+
+  @JsonProperty
+  public String getActor() {
+    return actor;
+  }
+
+  @JsonProperty
+  public boolean isSuccess() {
+    return success;
+  }
+
+  @JsonProperty
+  public String getAuthMethod() {
+    return authMethod;
+  }
+
+  @JsonProperty
+  public String getMethod() {
+    return method;
+  }
+
+  @JsonProperty
+  public String getPath() {
+    return path;
+  }
+
+  @JsonProperty
+  public Integer getStatusCode() {
+    return statusCode;
+  }
+
+  @JsonProperty
+  public String getRequesterIp() {
+    return requesterIp;
+  }
+
+  @JsonProperty("x_forwarded_for")
+  public String getXForwardedFor() {
+    return xForwardedFor;
+  }
+}
@@ -0,0 +1,93 @@
+package io.pivotal.security.view;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkRegenerateJob {
+
+  public static final String STATUS_RUNNING = "running";
+  public static final String STATUS_COMPLETED = "completed";
+  public static final String STATUS_FAILED = "failed";
+
+  private final UUID id;
+  private final String path;
+  private final String owner;
+  private final Instant startedAt;
+  private final AtomicInteger regenerated = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private volatile String status = STATUS_RUNNING;
+  private volatile Instant completedAt;
+
+  public BulkRegenerateJob(UUID id, String path, String owner, Instant startedAt) {
+    this.id = id;
+    this.path = path;
+    this.owner = owner;
+    this.startedAt = startedAt;
+  }
+
+  @JsonProperty
+  public UUID getId() {
+    return id;
+  }
+
+  @JsonProperty
+  public String getPath() {
+    return path;
+  }
+
+  @JsonIgnore
+  public String getOwner() {
+    return owner;
+  }
+
+  @JsonProperty
+  public String getStatus() {
+    return status;
+  }
+
+  @JsonProperty
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  @JsonProperty
+  public Instant getCompletedAt() {
+    return completedAt;
+  }
+
+  @JsonProperty
+  public int getRegenerated() {
+    return regenerated.get();
+  }
+
+  @JsonProperty
+  public int getSkipped() {
+    return skipped.get();
+  }
+
+  @JsonProperty
+  public int getFailed() {
+    return failed.get();
+  }
+
+  public void addRegenerated(int count) {
+    regenerated.addAndGet(count);
+  }
+
+  public void addSkipped(int count) {
+    skipped.addAndGet(count);
+  }
+
+  public void addFailed(int count) {
+    failed.addAndGet(count);
+  }
+
+  public void finish(String status, Instant completedAt) {
+    this.completedAt = completedAt;
+    this.status = status;
+  }
+}
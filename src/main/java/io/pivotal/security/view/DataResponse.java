@@ -1,19 +1,27 @@
 package io.pivotal.security.view;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.pivotal.security.domain.NamedSecret;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.google.common.collect.Lists.newArrayList;
 
 public class DataResponse {
 
   private List<SecretView> data;
+  private String nextCursor;
 
   public DataResponse(List<SecretView> data) {
+    this(data, null);
+  }
+
+  public DataResponse(List<SecretView> data, String nextCursor) {
     this.data = data;
+    this.nextCursor = nextCursor;
   }
 
   public static DataResponse fromEntity(List<NamedSecret> models) {
@@ -28,4 +36,10 @@ public class DataResponse {
   public List<SecretView> getData() {
     return data;
   }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  public String getNextCursor() {
+    return nextCursor;
+  }
 }
@@ -1,24 +1,42 @@
 package io.pivotal.security.view;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 public class FindCredentialResults {
 
   private List<SecretView> credentials;
+  private String nextCursor;
 
   @SuppressWarnings("rawtypes")
   FindCredentialResults(List<SecretView> credentials) {
+    this(credentials, null);
+  }
+
+  FindCredentialResults(List<SecretView> credentials, String nextCursor) {
     this.credentials = credentials;
+    this.nextCursor = nextCursor;
   }
 
   public static FindCredentialResults fromSecrets(List<SecretView> secrets) {
     return new FindCredentialResults(secrets);
   }
 
+  public static FindCredentialResults fromSecrets(List<SecretView> secrets, String nextCursor) {
+    return new FindCredentialResults(secrets, nextCursor);
+  }
+
   @JsonProperty
   public List<SecretView> getCredentials() {
     return credentials;
   }
 
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  public String getNextCursor() {
+    return nextCursor;
+  }
 }
@@ -0,0 +1,4 @@
+ALTER TABLE certificate_secret ALTER COLUMN ca_name VARCHAR_IGNORECASE(255);
+
+CREATE INDEX certificate_secret_ca_name_index
+  ON certificate_secret(ca_name);
@@ -0,0 +1,7 @@
+CREATE CACHED TABLE SCHEDULED_JOB_LEASE(
+    NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+    HOLDER VARCHAR(36),
+    EXPIRES_AT BIGINT NOT NULL
+);
+
+INSERT INTO SCHEDULED_JOB_LEASE(NAME, EXPIRES_AT) VALUES ('certificate_expiry_regeneration', 0);
@@ -0,0 +1,11 @@
+CREATE INDEX event_audit_record_credential_name_now_index
+  ON event_audit_record(credential_name, now, uuid);
+
+CREATE INDEX event_audit_record_actor_now_index
+  ON event_audit_record(actor, now, uuid);
+
+CREATE INDEX event_audit_record_now_index
+  ON event_audit_record(now, uuid);
+
+CREATE INDEX event_audit_record_request_uuid_index
+  ON event_audit_record(request_uuid);
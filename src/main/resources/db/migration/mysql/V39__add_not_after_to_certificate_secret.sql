@@ -0,0 +1,4 @@
+ALTER TABLE certificate_secret ADD not_after BIGINT;
+
+CREATE INDEX certificate_secret_not_after_index
+  ON certificate_secret(not_after);
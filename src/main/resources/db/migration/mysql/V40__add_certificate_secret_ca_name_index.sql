@@ -0,0 +1,2 @@
+CREATE INDEX certificate_secret_ca_name_index
+  ON certificate_secret(ca_name);
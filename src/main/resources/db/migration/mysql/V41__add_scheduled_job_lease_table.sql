@@ -0,0 +1,8 @@
+CREATE TABLE `scheduled_job_lease` (
+    `name` varchar(255) NOT NULL,
+    `holder` varchar(36),
+    `expires_at` bigint(20) NOT NULL,
+    PRIMARY KEY (`name`)
+);
+
+INSERT INTO `scheduled_job_lease` (`name`, `expires_at`) VALUES ('certificate_expiry_regeneration', 0);
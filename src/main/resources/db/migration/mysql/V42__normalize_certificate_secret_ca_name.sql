@@ -0,0 +1,3 @@
+UPDATE certificate_secret
+  SET ca_name = CONCAT('/', ca_name)
+  WHERE ca_name NOT LIKE '/%';
@@ -0,0 +1,2 @@
+CREATE INDEX secret_name_lower_name_pattern_index
+  ON secret_name(lower(name) text_pattern_ops);
@@ -0,0 +1,2 @@
+CREATE INDEX certificate_secret_lower_ca_name_index
+  ON certificate_secret(lower(ca_name));
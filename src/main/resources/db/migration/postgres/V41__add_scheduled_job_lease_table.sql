@@ -0,0 +1,10 @@
+CREATE TABLE scheduled_job_lease (
+    name character varying(255) NOT NULL,
+    holder character varying(36),
+    expires_at bigint NOT NULL
+);
+
+ALTER TABLE ONLY scheduled_job_lease
+    ADD CONSTRAINT scheduled_job_lease_pkey PRIMARY KEY (name);
+
+INSERT INTO scheduled_job_lease (name, expires_at) VALUES ('certificate_expiry_regeneration', 0);
@@ -0,0 +1,9 @@
+ALTER TABLE secret_name ADD COLUMN latest_version_created_at BIGINT;
+
+UPDATE secret_name SET latest_version_created_at = (
+  SELECT MAX(version_created_at) FROM named_secret
+    WHERE named_secret.secret_name_uuid = secret_name.uuid
+);
+
+CREATE INDEX secret_name_latest_version_created_at_index
+  ON secret_name(latest_version_created_at, name);
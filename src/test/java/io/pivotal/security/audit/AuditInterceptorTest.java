@@ -9,7 +9,6 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
-import org.springframework.security.core.Authentication;
 
 import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
@@ -71,12 +70,10 @@ public class AuditInterceptorTest {
   public void afterCompletion_logs_request_audit_record() throws Exception {
     final HttpServletRequest request = mock(HttpServletRequest.class);
     final HttpServletResponse response = mock(HttpServletResponse.class);
-    final Authentication authentication = mock(Authentication.class);
     final UserContext userContext = mock(UserContext.class);
     final RequestAuditRecord requestAuditRecord = spy(RequestAuditRecord.class);
 
-    when(request.getUserPrincipal()).thenReturn(authentication);
-    when(userContextFactory.createUserContext(authentication)).thenReturn(userContext);
+    when(userContextFactory.createUserContext(request)).thenReturn(userContext);
     when(response.getStatus()).thenReturn(401);
 
     when(requestAuditLogFactory.createRequestAuditRecord(request, userContext, 401))
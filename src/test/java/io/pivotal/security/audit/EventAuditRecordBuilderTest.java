@@ -5,6 +5,8 @@ import io.pivotal.security.entity.EventAuditRecord;
 import org.hamcrest.Matchers;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static com.greghaskins.spectrum.Spectrum.it;
@@ -73,5 +75,40 @@ public class EventAuditRecordBuilderTest {
 
       assertThat(eventAuditRecord, Matchers.samePropertyValuesAs(expected));
     });
+
+    it("can create one audit record per credential name", () -> {
+      final EventAuditRecordBuilder subject = new EventAuditRecordBuilder(
+          "test-actor"
+      );
+      subject.setAuditingOperationCode(AuditingOperationCode.CREDENTIAL_ACCESS);
+      subject.setCredentialNames(Arrays.asList("/first", "/second"));
+
+      final List<EventAuditRecord> eventAuditRecords = subject.buildAll(requestUuid, true);
+
+      assertThat(eventAuditRecords, Matchers.contains(
+          Matchers.samePropertyValuesAs(new EventAuditRecord(
+              AuditingOperationCode.CREDENTIAL_ACCESS.toString(), "/first", "test-actor", requestUuid, true)),
+          Matchers.samePropertyValuesAs(new EventAuditRecord(
+              AuditingOperationCode.CREDENTIAL_ACCESS.toString(), "/second", "test-actor", requestUuid, true))
+      ));
+    });
+
+    it("can record a different operation for each credential", () -> {
+      final EventAuditRecordBuilder subject = new EventAuditRecordBuilder(
+          "test-actor"
+      );
+      subject.setAuditingOperationCode(AuditingOperationCode.CREDENTIAL_UPDATE);
+      subject.addCredential("/read", AuditingOperationCode.CREDENTIAL_ACCESS);
+      subject.addCredential("/written", AuditingOperationCode.CREDENTIAL_UPDATE);
+
+      final List<EventAuditRecord> eventAuditRecords = subject.buildAll(requestUuid, true);
+
+      assertThat(eventAuditRecords, Matchers.contains(
+          Matchers.samePropertyValuesAs(new EventAuditRecord(
+              AuditingOperationCode.CREDENTIAL_ACCESS.toString(), "/read", "test-actor", requestUuid, true)),
+          Matchers.samePropertyValuesAs(new EventAuditRecord(
+              AuditingOperationCode.CREDENTIAL_UPDATE.toString(), "/written", "test-actor", requestUuid, true))
+      ));
+    });
   }
 }
@@ -0,0 +1,40 @@
+package io.pivotal.security.auth;
+
+import com.google.common.cache.CacheStats;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class AuthCachePublicMetricsTest {
+  @Test
+  public void metrics_reportsHitsMissesEvictionsAndSizeOfEachCache() {
+    CachingResourceServerTokenServices tokenServices =
+        mock(CachingResourceServerTokenServices.class);
+    when(tokenServices.getStats()).thenReturn(new CacheStats(5, 2, 0, 0, 0, 1));
+    when(tokenServices.getSize()).thenReturn(3L);
+    CertificateIdentityCache certificateIdentityCache = mock(CertificateIdentityCache.class);
+    when(certificateIdentityCache.getStats()).thenReturn(new CacheStats(7, 1, 0, 0, 0, 0));
+    when(certificateIdentityCache.getSize()).thenReturn(1L);
+
+    Map<String, Number> metrics = new AuthCachePublicMetrics(tokenServices,
+        certificateIdentityCache).metrics().stream()
+        .collect(Collectors.toMap(Metric::getName, Metric::getValue));
+
+    assertThat(metrics.get("cache.access_tokens.hits"), equalTo(5L));
+    assertThat(metrics.get("cache.access_tokens.misses"), equalTo(2L));
+    assertThat(metrics.get("cache.access_tokens.evictions"), equalTo(1L));
+    assertThat(metrics.get("cache.access_tokens.size"), equalTo(3L));
+    assertThat(metrics.get("cache.certificate_identities.hits"), equalTo(7L));
+    assertThat(metrics.get("cache.certificate_identities.size"), equalTo(1L));
+  }
+}
@@ -0,0 +1,113 @@
+package io.pivotal.security.auth;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.time.Instant;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class CachingResourceServerTokenServicesTest {
+  private ResourceServerTokenServices delegate;
+  private CachingResourceServerTokenServices subject;
+  private OAuth2Authentication authentication;
+  private String tokenValue;
+
+  @Before
+  public void setup() {
+    delegate = mock(ResourceServerTokenServices.class);
+    subject = new CachingResourceServerTokenServices(delegate, new DefaultAccessTokenConverter());
+
+    OAuth2Request request = new OAuth2Request(emptyMap(), "credhub_cli", emptyList(), true,
+        singleton("credhub.read"), singleton("credhub"), null, null, null);
+    authentication = new OAuth2Authentication(request,
+        new UsernamePasswordAuthenticationToken("marissa", "N/A", emptyList()));
+    tokenValue = tokenExpiringAt(Instant.now().plusSeconds(600));
+    when(delegate.loadAuthentication(tokenValue)).thenReturn(authentication);
+  }
+
+  @Test
+  public void loadAuthentication_verifiesEachTokenOnlyOnce() throws Exception {
+    subject.loadAuthentication(tokenValue);
+    subject.loadAuthentication(tokenValue);
+    OAuth2AccessToken token = subject.readAccessToken(tokenValue);
+
+    assertThat(token.getValue(), equalTo(tokenValue));
+    assertThat(token.getAdditionalInformation().get("user_name"), equalTo("marissa"));
+    verify(delegate, times(1)).loadAuthentication(tokenValue);
+    verify(delegate, never()).readAccessToken(anyString());
+    assertThat(subject.getStats().hitCount(), equalTo(2L));
+    assertThat(subject.getStats().missCount(), equalTo(1L));
+    assertThat(subject.getSize(), equalTo(1L));
+  }
+
+  @Test
+  public void loadAuthentication_returnsANewAuthenticationForEveryRequest() throws Exception {
+    OAuth2Authentication first = subject.loadAuthentication(tokenValue);
+    first.setDetails("details of the first request");
+    OAuth2Authentication second = subject.loadAuthentication(tokenValue);
+
+    assertThat(second, not(sameInstance(first)));
+    assertThat(second, not(sameInstance(authentication)));
+    assertThat(second.getDetails(), nullValue());
+    assertThat(second.getOAuth2Request(), sameInstance(authentication.getOAuth2Request()));
+    assertThat(second.getUserAuthentication(),
+        sameInstance(authentication.getUserAuthentication()));
+  }
+
+  @Test
+  public void loadAuthentication_verifiesAgainOnceTheTokenHasExpired() throws Exception {
+    String expiredTokenValue = tokenExpiringAt(Instant.now().minusSeconds(1));
+    when(delegate.loadAuthentication(expiredTokenValue)).thenReturn(authentication);
+
+    subject.loadAuthentication(expiredTokenValue);
+    subject.loadAuthentication(expiredTokenValue);
+
+    verify(delegate, times(2)).loadAuthentication(expiredTokenValue);
+  }
+
+  @Test
+  public void loadAuthentication_doesNotCacheInvalidTokens() throws Exception {
+    when(delegate.loadAuthentication("invalid")).thenThrow(new InvalidTokenException("invalid"));
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        subject.loadAuthentication("invalid");
+      } catch (InvalidTokenException expected) {
+        // verified again on the next attempt
+      }
+    }
+
+    verify(delegate, times(2)).loadAuthentication("invalid");
+  }
+
+  private static String tokenExpiringAt(Instant expiresAt) {
+    String claims = "{\"user_name\":\"marissa\",\"exp\":" + expiresAt.getEpochSecond() + "}";
+    return JwtHelper.encode(claims, new MacSigner("signing-key")).getEncoded();
+  }
+}
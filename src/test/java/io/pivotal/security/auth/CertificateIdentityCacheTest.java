@@ -0,0 +1,75 @@
+package io.pivotal.security.auth;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.security.Principal;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+
+import static io.pivotal.security.auth.X509AuthenticationProvider.CLIENT_AUTH_EXTENDED_KEY_USAGE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class CertificateIdentityCacheTest {
+  private CertificateIdentityCache subject;
+  private X509Certificate certificate;
+
+  @Before
+  public void setup() throws Exception {
+    subject = new CertificateIdentityCache();
+
+    certificate = mock(X509Certificate.class);
+    Principal principal = mock(Principal.class);
+    when(principal.getName()).thenReturn("CN=test_cn,OU=app:e054393e-c9c3-478b-9047-e6d05c307bf2");
+    when(certificate.getEncoded()).thenReturn(new byte[]{1, 2, 3});
+    when(certificate.getSubjectDN()).thenReturn(principal);
+    when(certificate.getNotBefore()).thenReturn(Date.from(Instant.ofEpochSecond(1413495264L)));
+    when(certificate.getNotAfter()).thenReturn(Date.from(Instant.ofEpochSecond(1413538464L)));
+    when(certificate.getExtendedKeyUsage())
+        .thenReturn(Collections.singletonList(CLIENT_AUTH_EXTENDED_KEY_USAGE));
+  }
+
+  @Test
+  public void getIdentity_readsTheCertificate() throws Exception {
+    CertificateIdentity identity = subject.getIdentity(certificate);
+
+    assertThat(identity.getSubjectDn(),
+        equalTo("CN=test_cn,OU=app:e054393e-c9c3-478b-9047-e6d05c307bf2"));
+    assertThat(identity.getValidFrom(), equalTo(1413495264L));
+    assertThat(identity.getValidUntil(), equalTo(1413538464L));
+    assertThat(identity.isExtendedKeyUsageReadable(), equalTo(true));
+    assertThat(identity.hasClientAuth(), equalTo(true));
+  }
+
+  @Test
+  public void getIdentity_parsesEachCertificateOnlyOnce() throws Exception {
+    CertificateIdentity first = subject.getIdentity(certificate);
+    CertificateIdentity second = subject.getIdentity(certificate);
+
+    assertThat(second, sameInstance(first));
+    verify(certificate, times(1)).getExtendedKeyUsage();
+    verify(certificate, times(1)).getSubjectDN();
+  }
+
+  @Test
+  public void getIdentity_recordsUnreadableExtendedKeyUsage() throws Exception {
+    when(certificate.getExtendedKeyUsage()).thenThrow(new CertificateParsingException());
+
+    CertificateIdentity identity = subject.getIdentity(certificate);
+
+    assertThat(identity.isExtendedKeyUsageReadable(), equalTo(false));
+    assertThat(identity.hasClientAuth(), equalTo(false));
+  }
+}
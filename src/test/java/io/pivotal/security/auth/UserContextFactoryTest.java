@@ -4,6 +4,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.oauth2.common.OAuth2AccessToken;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.security.oauth2.provider.OAuth2Request;
@@ -24,9 +25,12 @@ import static io.pivotal.security.auth.UserContext.AUTH_METHOD_MUTUAL_TLS;
 import static io.pivotal.security.auth.UserContext.AUTH_METHOD_UAA;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(JUnit4.class)
@@ -37,7 +41,7 @@ public class UserContextFactoryTest {
   @Before
   public void setup() {
     tokenServicesMock = mock(ResourceServerTokenServices.class);
-    subject = new UserContextFactory(tokenServicesMock);
+    subject = new UserContextFactory(tokenServicesMock, new CertificateIdentityCache());
   }
 
   @Test
@@ -114,6 +118,19 @@ public class UserContextFactoryTest {
   }
 
 
+  @Test
+  public void fromRequest_readsTheAccessTokenOncePerRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setUserPrincipal(setupOAuthMock("TEST_GRANT_TYPE"));
+
+    UserContext first = subject.createUserContext(request);
+    UserContext second = subject.createUserContext(request);
+
+    assertThat(second, sameInstance(first));
+    assertThat(request.getAttribute(UserContextFactory.USER_CONTEXT_ATTRIBUTE), sameInstance(first));
+    verify(tokenServicesMock, times(1)).readAccessToken("tokenValue");
+  }
+
   private OAuth2Authentication setupOAuthMock(String grantType) {
     OAuth2Authentication authentication = mock(OAuth2Authentication.class);
     OAuth2Request oauth2Request = spy(new OAuth2Request(
@@ -153,11 +170,12 @@ public class UserContextFactoryTest {
     return authentication;
   }
 
-  private PreAuthenticatedAuthenticationToken setupMtlsMock() {
+  private PreAuthenticatedAuthenticationToken setupMtlsMock() throws Exception {
     X509Certificate certificate = mock(X509Certificate.class);
     Principal principal = mock(Principal.class);
     PreAuthenticatedAuthenticationToken token = mock(PreAuthenticatedAuthenticationToken.class);
 
+    when(certificate.getEncoded()).thenReturn(new byte[]{1, 2, 3});
     when(certificate.getSubjectDN()).thenReturn(principal);
     when(principal.getName()).thenReturn("CN=test_cn,OU=app:e054393e-c9c3-478b-9047-e6d05c307bf2");
 
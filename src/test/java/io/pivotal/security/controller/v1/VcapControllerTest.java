@@ -21,6 +21,8 @@ import io.pivotal.security.data.SecretDataService;
 import io.pivotal.security.domain.NamedJsonSecret;
 import io.pivotal.security.domain.NamedValueSecret;
 import io.pivotal.security.util.DatabaseProfileResolver;
+import java.util.Arrays;
+import java.util.Collections;
 import org.assertj.core.util.Maps;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,13 +66,13 @@ public class VcapControllerTest {
             NamedJsonSecret jsonSecret2 = mock(NamedJsonSecret.class);
             doReturn(Maps.newHashMap("secret2", "secret2-value")).when(jsonSecret2).getValue();
 
-            doReturn(
-                jsonSecret1
-            ).when(mockSecretDataService).findMostRecent("/cred1");
+            doReturn("/cred1").when(jsonSecret1).getName();
+            doReturn("/cred2").when(jsonSecret2).getName();
 
             doReturn(
-                jsonSecret2
-            ).when(mockSecretDataService).findMostRecent("/cred2");
+                Arrays.asList(jsonSecret1, jsonSecret2)
+            ).when(mockSecretDataService)
+                .findMostRecentByNames(Arrays.asList("/cred1", "/cred2"));
 
             mockMvc.perform(post("/api/v1/vcap")
                 .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
@@ -109,10 +111,11 @@ public class VcapControllerTest {
           it("should return an error", () -> {
             NamedValueSecret valueSecret = mock(NamedValueSecret.class);
             doReturn("something").when(valueSecret).getValue();
+            doReturn("/cred1").when(valueSecret).getName();
 
             doReturn(
-                valueSecret
-            ).when(mockSecretDataService).findMostRecent("/cred1");
+                Arrays.asList(valueSecret)
+            ).when(mockSecretDataService).findMostRecentByNames(Arrays.asList("/cred1"));
 
             mockMvc.perform(post("/api/v1/vcap")
                 .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
@@ -141,8 +144,8 @@ public class VcapControllerTest {
         describe("when the requested credential is not accessible", () -> {
           it("should return an error", () -> {
             doReturn(
-                null
-            ).when(mockSecretDataService).findMostRecent("/cred1");
+                Collections.emptyList()
+            ).when(mockSecretDataService).findMostRecentByNames(Arrays.asList("/cred1"));
 
             mockMvc.perform(post("/api/v1/vcap")
                 .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
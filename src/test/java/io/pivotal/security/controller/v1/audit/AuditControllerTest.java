@@ -0,0 +1,208 @@
+package io.pivotal.security.controller.v1.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.audit.EventAuditRecordBuilder;
+import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.controller.v1.UserContextArgumentResolver;
+import io.pivotal.security.data.EventAuditRecordDataService;
+import io.pivotal.security.data.TimestampCursor;
+import io.pivotal.security.exceptions.EntryNotFoundException;
+import io.pivotal.security.helper.JsonHelper;
+import io.pivotal.security.service.PermissionService;
+import io.pivotal.security.util.CurrentTimeProvider;
+import io.pivotal.security.view.AuditEventView;
+import org.junit.runner.RunWith;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.servlet.http.HttpServletRequest;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.audit.AuditingOperationCode.AUDIT_ACCESS;
+import static io.pivotal.security.request.AccessControlOperation.READ;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(Spectrum.class)
+public class AuditControllerTest {
+
+  private final Instant frozenTime = Instant.ofEpochSecond(1400000000L);
+
+  private AuditController subject;
+  private EventAuditRecordDataService eventAuditRecordDataService;
+  private EventAuditLogService eventAuditLogService;
+  private EventAuditRecordBuilder eventAuditRecordBuilder;
+  private PermissionService permissionService;
+  private UserContext userContext;
+  private MockMvc mockMvc;
+
+  {
+    beforeEach(() -> {
+      eventAuditRecordDataService = mock(EventAuditRecordDataService.class);
+      eventAuditLogService = mock(EventAuditLogService.class);
+      eventAuditRecordBuilder = mock(EventAuditRecordBuilder.class);
+      permissionService = mock(PermissionService.class);
+      userContext = mock(UserContext.class);
+      CurrentTimeProvider currentTimeProvider = mock(CurrentTimeProvider.class);
+      when(currentTimeProvider.getInstant()).thenReturn(frozenTime);
+
+      subject = new AuditController(
+          eventAuditRecordDataService,
+          eventAuditLogService,
+          currentTimeProvider,
+          permissionService
+      );
+
+      UserContextArgumentResolver userContextArgumentResolver = mock(UserContextArgumentResolver.class);
+      when(userContextArgumentResolver.resolveArgument(
+          any(MethodParameter.class),
+          any(ModelAndViewContainer.class),
+          any(NativeWebRequest.class),
+          any(WebDataBinderFactory.class)
+      )).thenReturn(userContext);
+
+      when(eventAuditLogService.performWithAuditing(any(), any(), any())).thenAnswer(answer -> {
+        Function<EventAuditRecordBuilder, Object> block = answer.getArgumentAt(2, Function.class);
+        return block.apply(eventAuditRecordBuilder);
+      });
+
+      MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter =
+          new MappingJackson2HttpMessageConverter();
+      ObjectMapper objectMapper = JsonHelper.createObjectMapper();
+      mappingJackson2HttpMessageConverter.setObjectMapper(objectMapper);
+      mockMvc = MockMvcBuilders.standaloneSetup(subject)
+          .setCustomArgumentResolvers(userContextArgumentResolver)
+          .setMessageConverters(mappingJackson2HttpMessageConverter)
+          .build();
+    });
+
+    describe("#GET /audit", () -> {
+      it("should return matching events with a cursor for the next page", () -> {
+        UUID requestUuid = UUID.randomUUID();
+        List<AuditEventView> events = newArrayList(new AuditEventView(
+            requestUuid,
+            frozenTime,
+            "credential_access",
+            "/test/credential",
+            "test-actor",
+            true,
+            "uaa",
+            "GET",
+            "/api/v1/data",
+            200,
+            "127.0.0.1",
+            ""
+        ));
+        when(eventAuditRecordDataService.findEvents(
+            eq("/test/credential"), eq("test-actor"), isNull(String.class), eq(Instant.EPOCH),
+            eq(frozenTime), isNull(TimestampCursor.class), eq(1)))
+            .thenReturn(events);
+        when(eventAuditRecordDataService.nextCursor(anyList(), any(), anyInt()))
+            .thenReturn(TimestampCursor.parse(frozenTime.toEpochMilli() + ".1"));
+
+        mockMvc.perform(get("/api/v1/audit?credential_name=/test/credential&actor=test-actor&limit=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.events[0].request_id").value(requestUuid.toString()))
+            .andExpect(jsonPath("$.events[0].time").value("2014-05-13T16:53:20Z"))
+            .andExpect(jsonPath("$.events[0].credential_name").value("/test/credential"))
+            .andExpect(jsonPath("$.events[0].status_code").value(200))
+            .andExpect(jsonPath("$.next_cursor").value(frozenTime.toEpochMilli() + ".1"));
+
+        verify(eventAuditRecordBuilder).setCredentialName("/test/credential");
+        verify(eventAuditRecordBuilder).setAuditingOperationCode(AUDIT_ACCESS);
+      });
+
+      it("should pass the requested time range and cursor through", () -> {
+        when(eventAuditRecordDataService.findEvents(
+            any(), any(), any(), any(), any(), any(), anyInt()))
+            .thenReturn(newArrayList());
+
+        mockMvc.perform(get("/api/v1/audit?from=2014-01-01T00:00:00Z&until=2015-01-01T00:00:00Z"
+            + "&cursor=1400000000000.2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.events").isEmpty())
+            .andExpect(jsonPath("$.next_cursor").doesNotExist());
+
+        verify(eventAuditRecordDataService).findEvents(
+            isNull(String.class),
+            isNull(String.class),
+            isNull(String.class),
+            eq(Instant.parse("2014-01-01T00:00:00Z")),
+            eq(Instant.parse("2015-01-01T00:00:00Z")),
+            any(TimestampCursor.class),
+            eq(AuditController.DEFAULT_LIMIT)
+        );
+      });
+
+      describe("when ACLs are enforced", () -> {
+        beforeEach(() -> {
+          when(permissionService.getReadFilterActor(userContext)).thenReturn("test-actor");
+        });
+
+        it("should only return events on credentials the caller may read", () -> {
+          when(eventAuditRecordDataService.findEvents(
+              any(), any(), any(), any(), any(), any(), anyInt()))
+              .thenReturn(newArrayList());
+
+          mockMvc.perform(get("/api/v1/audit"))
+              .andExpect(status().isOk());
+
+          verify(eventAuditRecordDataService).findEvents(
+              isNull(String.class),
+              isNull(String.class),
+              eq("test-actor"),
+              eq(Instant.EPOCH),
+              eq(frozenTime),
+              isNull(TimestampCursor.class),
+              eq(AuditController.DEFAULT_LIMIT)
+          );
+        });
+
+        it("should deny events on a credential the caller may not read", () -> {
+          when(permissionService.filterPermitted(
+              userContext, singletonList("/test/credential"), READ))
+              .thenReturn(newArrayList());
+
+          try {
+            subject.getEvents("test/credential", null, null, null, null, null,
+                mock(HttpServletRequest.class), userContext);
+            fail("expected the credential to be reported as not found");
+          } catch (EntryNotFoundException e) {
+            assertThat(e.getMessage(), equalTo("error.credential_not_found"));
+          }
+
+          verify(eventAuditRecordDataService, never()).findEvents(
+              any(), any(), any(), any(), any(), any(), anyInt());
+        });
+      });
+    });
+  }
+}
@@ -0,0 +1,182 @@
+package io.pivotal.security.controller.v1.secret;
+
+import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.audit.EventAuditRecordBuilder;
+import io.pivotal.security.auth.UserContext;
+import io.pivotal.security.data.FindCredentialCursor;
+import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.data.SecretMetadata;
+import io.pivotal.security.domain.NamedPasswordSecret;
+import io.pivotal.security.request.AccessControlEntry;
+import io.pivotal.security.request.PasswordGenerationParameters;
+import io.pivotal.security.request.PasswordSetRequest;
+import io.pivotal.security.service.GeneratorService;
+import io.pivotal.security.service.SetService;
+import io.pivotal.security.view.BulkRegenerateJob;
+import io.pivotal.security.view.SecretView;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.view.BulkRegenerateJob.STATUS_COMPLETED;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(Spectrum.class)
+public class BulkRegenerateServiceTest {
+
+  private SecretDataService secretDataService;
+  private GeneratorService generatorService;
+  private SetService setService;
+  private EventAuditLogService eventAuditLogService;
+  private AccessControlEntry accessControlEntry;
+  private BulkRegenerateJob job;
+  private BulkRegenerateService subject;
+
+  {
+    beforeEach(() -> {
+      secretDataService = mock(SecretDataService.class);
+      generatorService = mock(GeneratorService.class);
+      setService = mock(SetService.class);
+      eventAuditLogService = mock(EventAuditLogService.class);
+      accessControlEntry = new AccessControlEntry();
+
+      when(eventAuditLogService.performWithAuditingForRequest(any(), any(), any()))
+          .thenAnswer(answer -> {
+            Function<EventAuditRecordBuilder, Object> block = answer
+                .getArgumentAt(2, Function.class);
+            return block.apply(new EventAuditRecordBuilder("actor"));
+          });
+      when(generatorService.generatePassword(any())).thenReturn("new-password");
+
+      job = new BulkRegenerateJob(UUID.randomUUID(), "/deployment/", "actor",
+          Instant.now());
+      subject = new BulkRegenerateService(secretDataService, generatorService, setService,
+          eventAuditLogService);
+    });
+
+    afterEach(() -> subject.shutdown());
+
+    describe("#run", () -> {
+      beforeEach(() -> {
+        when(secretDataService.findStartingWithPath(eq("/deployment/"), any(), anyInt()))
+            .thenReturn(asList(
+                new SecretView(Instant.ofEpochSecond(3), "/deployment/generated"),
+                new SecretView(Instant.ofEpochSecond(2), "/deployment/static"),
+                new SecretView(Instant.ofEpochSecond(1), "/deployment/certificate")
+            ));
+        List<SecretMetadata> metadata = asList(
+            metadata("/deployment/generated", "password"),
+            metadata("/deployment/static", "password"),
+            metadata("/deployment/certificate", "certificate")
+        );
+        when(secretDataService.findMostRecentMetadataByNames(any())).thenReturn(metadata);
+
+        NamedPasswordSecret generated = mock(NamedPasswordSecret.class);
+        when(generated.getName()).thenReturn("/deployment/generated");
+        when(generated.getSecretType()).thenReturn("password");
+        when(generated.getGenerationParameters())
+            .thenReturn(new PasswordGenerationParameters().setLength(20));
+        NamedPasswordSecret notGenerated = mock(NamedPasswordSecret.class);
+        when(notGenerated.getName()).thenReturn("/deployment/static");
+        when(secretDataService.findMostRecentByNames(
+            asList("/deployment/generated", "/deployment/static")))
+            .thenReturn(asList(generated, notGenerated));
+        when(setService.performSets(any(), any(), any()))
+            .thenReturn(singletonList(mock(SecretView.class)));
+      });
+
+      it("regenerates only generated passwords, overwriting them in one batch", () -> {
+        subject.run(job, null, UUID.randomUUID(), mock(UserContext.class), accessControlEntry);
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(setService).performSets(any(), captor.capture(), eq(accessControlEntry));
+        List<PasswordSetRequest> setRequests = captor.getValue();
+        assertThat(setRequests.size(), equalTo(1));
+        assertThat(setRequests.get(0).getName(), equalTo("/deployment/generated"));
+        assertThat(setRequests.get(0).getPassword(), equalTo("new-password"));
+        assertThat(setRequests.get(0).isOverwrite(), equalTo(true));
+
+        assertThat(job.getRegenerated(), equalTo(1));
+        assertThat(job.getSkipped(), equalTo(2));
+        assertThat(job.getFailed(), equalTo(0));
+        assertThat(job.getStatus(), equalTo(STATUS_COMPLETED));
+        assertThat(job.getCompletedAt(), notNullValue());
+      });
+
+      it("counts only attempted passwords as failed when a page cannot be saved", () -> {
+        when(setService.performSets(any(), any(), any())).thenThrow(new RuntimeException());
+
+        subject.run(job, null, UUID.randomUUID(), mock(UserContext.class), accessControlEntry);
+
+        assertThat(job.getRegenerated(), equalTo(0));
+        assertThat(job.getSkipped(), equalTo(2));
+        assertThat(job.getFailed(), equalTo(1));
+        assertThat(job.getStatus(), equalTo(STATUS_COMPLETED));
+      });
+
+      it("does not open a transaction for pages without passwords", () -> {
+        List<SecretMetadata> metadata = singletonList(
+            metadata("/deployment/certificate", "certificate"));
+        when(secretDataService.findMostRecentMetadataByNames(any())).thenReturn(metadata);
+
+        subject.run(job, null, UUID.randomUUID(), mock(UserContext.class), accessControlEntry);
+
+        verify(eventAuditLogService, never()).performWithAuditingForRequest(any(), any(), any());
+        assertThat(job.getSkipped(), equalTo(1));
+      });
+
+      it("only pages through credentials the actor may read when given one", () -> {
+        subject.run(job, "reader", UUID.randomUUID(), mock(UserContext.class),
+            accessControlEntry);
+
+        verify(secretDataService)
+            .findStartingWithPath(eq("/deployment/"), eq("reader"), any(), anyInt());
+        verify(secretDataService, never())
+            .findStartingWithPath(eq("/deployment/"), any(FindCredentialCursor.class), anyInt());
+      });
+    });
+
+    describe("#find", () -> {
+      it("only returns jobs to the actor that started them", () -> {
+        UserContext owner = mock(UserContext.class);
+        when(owner.getAclUser()).thenReturn("uaa-user:owner");
+        UserContext someoneElse = mock(UserContext.class);
+        when(someoneElse.getAclUser()).thenReturn("uaa-user:someone-else");
+
+        BulkRegenerateJob started = subject.start("/deployment/", null, UUID.randomUUID(),
+            owner, accessControlEntry);
+
+        assertThat(subject.find(started.getId(), owner), sameInstance(started));
+        assertThat(subject.find(started.getId(), someoneElse), nullValue());
+      });
+    });
+  }
+
+  private static SecretMetadata metadata(String name, String secretType) {
+    SecretMetadata metadata = mock(SecretMetadata.class);
+    when(metadata.getName()).thenReturn(name);
+    when(metadata.getSecretType()).thenReturn(secretType);
+    return metadata;
+  }
+}
@@ -0,0 +1,120 @@
+package io.pivotal.security.controller.v1.secret;
+
+import com.greghaskins.spectrum.Spectrum;
+import com.jayway.jsonpath.JsonPath;
+import io.pivotal.security.CredentialManagerApp;
+import io.pivotal.security.service.PermissionService;
+import io.pivotal.security.util.DatabaseProfileResolver;
+import io.pivotal.security.view.BulkRegenerateJob;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
+import static io.pivotal.security.util.AuthConstants.UAA_OAUTH2_CLIENT_CREDENTIALS_TOKEN;
+import static io.pivotal.security.util.AuthConstants.UAA_OAUTH2_PASSWORD_GRANT_TOKEN;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(Spectrum.class)
+@ActiveProfiles(value = "unit-test", resolver = DatabaseProfileResolver.class)
+@SpringBootTest(classes = CredentialManagerApp.class)
+public class SecretsControllerBulkRegenerateTest {
+
+  @Autowired
+  WebApplicationContext webApplicationContext;
+
+  @SpyBean
+  BulkRegenerateService bulkRegenerateService;
+
+  @SpyBean
+  PermissionService permissionService;
+
+  private MockMvc mockMvc;
+
+  {
+    wireAndUnwire(this);
+
+    beforeEach(() -> {
+      mockMvc = MockMvcBuilders
+          .webAppContextSetup(webApplicationContext)
+          .apply(springSecurity())
+          .build();
+    });
+
+    describe("POST /api/v1/data/bulk-regenerate", () -> {
+      it("limits the job to credentials the caller may read", () -> {
+        doReturn("test-actor").when(permissionService).getReadFilterActor(any());
+
+        mockMvc.perform(post("/api/v1/data/bulk-regenerate")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"path\":\"/deployment\"}"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.path").value("/deployment"))
+            .andExpect(jsonPath("$.owner").doesNotExist());
+
+        verify(bulkRegenerateService)
+            .start(eq("/deployment"), eq("test-actor"), any(), any(), any());
+      });
+    });
+
+    describe("GET /api/v1/data/bulk-regenerate/{id}", () -> {
+      it("returns jobs to the actor that started them", () -> {
+        BulkRegenerateJob job = new BulkRegenerateJob(UUID.randomUUID(), "/deployment",
+            "uaa-user:df0c1a26-2875-4bf5-baf9-716c6bb5ea6d", Instant.now());
+        doReturn(job).when(bulkRegenerateService).find(eq(job.getId()), any());
+
+        mockMvc.perform(get("/api/v1/data/bulk-regenerate/" + job.getId())
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(job.getId().toString()));
+      });
+
+      it("does not find jobs started by another actor", () -> {
+        String response = mockMvc.perform(post("/api/v1/data/bulk-regenerate")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"path\":\"/deployment\"}"))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(response, "$.id");
+
+        mockMvc.perform(get("/api/v1/data/bulk-regenerate/" + id)
+            .header("Authorization", "Bearer " + UAA_OAUTH2_CLIENT_CREDENTIALS_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.error").value(
+                "The bulk regenerate job could not be found. Jobs are only kept for an hour "
+                    + "after they last made progress."));
+
+        mockMvc.perform(get("/api/v1/data/bulk-regenerate/" + id)
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isOk());
+      });
+    });
+  }
+}
@@ -0,0 +1,211 @@
+package io.pivotal.security.controller.v1.secret;
+
+import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.CredentialManagerApp;
+import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.domain.NamedPasswordSecret;
+import io.pivotal.security.domain.NamedValueSecret;
+import io.pivotal.security.entity.EventAuditRecord;
+import io.pivotal.security.repository.EventAuditRecordRepository;
+import io.pivotal.security.request.BaseBulkSecretRequest;
+import io.pivotal.security.util.DatabaseProfileResolver;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_ACCESS;
+import static io.pivotal.security.audit.AuditingOperationCode.CREDENTIAL_UPDATE;
+import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
+import static io.pivotal.security.util.AuthConstants.UAA_OAUTH2_PASSWORD_GRANT_TOKEN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(Spectrum.class)
+@ActiveProfiles(value = "unit-test", resolver = DatabaseProfileResolver.class)
+@SpringBootTest(classes = CredentialManagerApp.class)
+public class SecretsControllerBulkSetTest {
+
+  @Autowired
+  WebApplicationContext webApplicationContext;
+
+  @Autowired
+  SecretDataService secretDataService;
+
+  @Autowired
+  EventAuditRecordRepository eventAuditRecordRepository;
+
+  private MockMvc mockMvc;
+
+  {
+    wireAndUnwire(this);
+
+    beforeEach(() -> {
+      mockMvc = MockMvcBuilders
+          .webAppContextSetup(webApplicationContext)
+          .apply(springSecurity())
+          .build();
+    });
+
+    describe("bulk set", () -> {
+      it("stores every credential and returns them in request order", () -> {
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"first value\"},"
+                + "{\"name\":\"/bulk/second\",\"type\":\"password\",\"value\":\"second value\"}"
+                + "]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].name").value("/bulk/first"))
+            .andExpect(jsonPath("$.data[1].name").value("/bulk/second"))
+            .andExpect(jsonPath("$.data[1].type").value("password"));
+
+        NamedValueSecret first = (NamedValueSecret) secretDataService.findMostRecent("/bulk/first");
+        NamedPasswordSecret second = (NamedPasswordSecret) secretDataService.findMostRecent("/bulk/second");
+        assertThat(first.getValue(), equalTo("first value"));
+        assertThat(second.getPassword(), equalTo("second value"));
+        assertThat(eventAuditRecordRepository.findAll(), hasSize(2));
+      });
+
+      it("keeps existing credentials unless overwrite is set", () -> {
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"original\"}]}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/BULK/first\",\"type\":\"value\",\"value\":\"ignored\"},"
+                + "{\"name\":\"/bulk/second\",\"type\":\"value\",\"value\":\"new\"}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].value").value("original"))
+            .andExpect(jsonPath("$.data[1].value").value("new"));
+      });
+
+      it("audits each credential with the operation performed on it", () -> {
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"original\"}]}"))
+            .andExpect(status().isOk());
+        eventAuditRecordRepository.deleteAll();
+
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"ignored\"},"
+                + "{\"name\":\"/bulk/second\",\"type\":\"value\",\"value\":\"new\"}]}"))
+            .andExpect(status().isOk());
+
+        Map<String, String> operations = eventAuditRecordRepository.findAll().stream()
+            .collect(Collectors.toMap(EventAuditRecord::getCredentialName, EventAuditRecord::getOperation));
+        assertThat(operations.get("/bulk/first"), equalTo(CREDENTIAL_ACCESS.toString()));
+        assertThat(operations.get("/bulk/second"), equalTo(CREDENTIAL_UPDATE.toString()));
+      });
+
+      it("rejects requests with too many credentials", () -> {
+        String credentials = IntStream.rangeClosed(0, BaseBulkSecretRequest.MAX_CREDENTIALS)
+            .mapToObj(i -> "{\"name\":\"/bulk/" + i + "\",\"type\":\"value\",\"value\":\"v\"}")
+            .collect(Collectors.joining(","));
+
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":[" + credentials + "]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(
+                "A request may include at most 100 credentials. Please split your request and retry."));
+
+        assertThat(secretDataService.findMostRecent("/bulk/0"), nullValue());
+      });
+
+      it("rejects the whole request when a name appears twice", () -> {
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"one\"},"
+                + "{\"name\":\"bulk/FIRST\",\"type\":\"value\",\"value\":\"two\"}]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(
+                "A credential name may only appear once in a request. Please update and retry your request."));
+
+        assertThat(secretDataService.findMostRecent("/bulk/first"), nullValue());
+      });
+
+      it("rejects the whole request when a credential changes type", () -> {
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/first\",\"type\":\"value\",\"value\":\"one\"}]}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/data/bulk-set")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/second\",\"type\":\"value\",\"value\":\"two\"},"
+                + "{\"name\":\"/bulk/first\",\"type\":\"password\",\"value\":\"one\",\"overwrite\":true}]}"))
+            .andExpect(status().isBadRequest());
+
+        assertThat(secretDataService.findMostRecent("/bulk/second"), nullValue());
+      });
+    });
+
+    describe("bulk generate", () -> {
+      it("generates every credential", () -> {
+        mockMvc.perform(post("/api/v1/data/bulk-generate")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"credentials\":["
+                + "{\"name\":\"/bulk/generated-password\",\"type\":\"password\"},"
+                + "{\"name\":\"/bulk/generated-ssh\",\"type\":\"ssh\"}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].type").value("password"))
+            .andExpect(jsonPath("$.data[1].type").value("ssh"));
+
+        assertThat(secretDataService.findMostRecent("/bulk/generated-password").getSecretType(),
+            equalTo("password"));
+        assertThat(secretDataService.findMostRecent("/bulk/generated-ssh").getSecretType(),
+            equalTo("ssh"));
+      });
+    });
+  }
+}
@@ -5,6 +5,7 @@ import io.pivotal.security.CredentialManagerApp;
 import io.pivotal.security.data.SecretDataService;
 import io.pivotal.security.repository.EventAuditRecordRepository;
 import io.pivotal.security.repository.RequestAuditRecordRepository;
+import io.pivotal.security.service.PermissionService;
 import io.pivotal.security.util.CurrentTimeProvider;
 import io.pivotal.security.util.DatabaseProfileResolver;
 import io.pivotal.security.view.SecretView;
@@ -34,7 +35,10 @@ import static io.pivotal.security.helper.SpectrumHelper.mockOutCurrentTimeProvid
 import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
 import static io.pivotal.security.util.AuthConstants.UAA_OAUTH2_PASSWORD_GRANT_TOKEN;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -53,6 +57,9 @@ public class SecretsControllerFindTest {
   @SpyBean
   SecretDataService secretDataService;
 
+  @SpyBean
+  PermissionService permissionService;
+
   @MockBean
   CurrentTimeProvider mockCurrentTimeProvider;
 
@@ -113,6 +120,48 @@ public class SecretsControllerFindTest {
         });
       });
 
+      describe("when ACLs are enforced", () -> {
+        beforeEach(() -> {
+          doReturn("test-actor").when(permissionService).getReadFilterActor(any());
+        });
+
+        it("only finds credentials by name-like that the actor may read", () -> {
+          doReturn(Arrays.asList(new SecretView(frozenTime, secretName)))
+              .when(secretDataService).findContainingName("secret", "test-actor");
+
+          mockMvc.perform(get("/api/v1/data?name-like=secret")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials[0].name").value(secretName));
+        });
+
+        it("pages through readable credentials by path", () -> {
+          doReturn(Arrays.asList(new SecretView(frozenTime, secretName)))
+              .when(secretDataService).findStartingWithPath("/my-namespace", "test-actor", null, 1);
+
+          mockMvc.perform(get("/api/v1/data?path=/my-namespace&limit=1")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials[0].name").value(secretName))
+              .andExpect(jsonPath("$.next_cursor").isNotEmpty());
+        });
+
+        it("only finds certificates signed by the CA that the actor may read", () -> {
+          doReturn(Arrays.asList(new SecretView(frozenTime, secretName)))
+              .when(secretDataService).findSignedBy("/my-ca", "test-actor");
+
+          mockMvc.perform(get("/api/v1/data?signed-by=/my-ca")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials[0].name").value(secretName));
+
+          verify(secretDataService, never()).findSignedBy("/my-ca");
+        });
+      });
+
       describe("finding credentials by path", () -> {
         beforeEach(() -> {
           String substring = secretName.substring(0, secretName.lastIndexOf("/"));
@@ -185,6 +234,73 @@ public class SecretsControllerFindTest {
         });
       });
 
+      describe("finding credentials by path one page at a time", () -> {
+        it("returns a cursor for the next page when the page is full", () -> {
+          doReturn(
+              Arrays.asList(new SecretView(frozenTime, secretName))
+          ).when(secretDataService).findStartingWithPath("/my-namespace", null, 1);
+
+          mockMvc.perform(get("/api/v1/data?path=/my-namespace&limit=1")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials", hasSize(1)))
+              .andExpect(jsonPath("$.next_cursor").value(frozenTime.toEpochMilli() + "." + secretName));
+        });
+
+        it("leaves out the cursor on the last page", () -> {
+          mockMvc.perform(get("/api/v1/data?path=/my-namespace&limit=5&cursor="
+              + frozenTime.toEpochMilli() + "." + secretName)
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials", hasSize(0)))
+              .andExpect(jsonPath("$.next_cursor").doesNotExist());
+        });
+
+        it("rejects a limit that is out of range", () -> {
+          mockMvc.perform(get("/api/v1/data?name-like=secret&limit=0")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isBadRequest())
+              .andExpect(jsonPath("$.error").value(
+                  "The query parameter limit is not valid. Please update and retry your request."));
+        });
+
+        it("rejects a malformed cursor", () -> {
+          mockMvc.perform(get("/api/v1/data?name-like=secret&cursor=not-a-cursor")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isBadRequest());
+        });
+      });
+
+      describe("finding certificates by signing CA", () -> {
+        it("returns the certificates signed by the CA, one page at a time", () -> {
+          doReturn(
+              Arrays.asList(new SecretView(frozenTime, secretName))
+          ).when(secretDataService).findSignedBy("/my-ca", null, 1);
+
+          mockMvc.perform(get("/api/v1/data?signed-by=/my-ca&limit=1")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.credentials[0].name").value(secretName))
+              .andExpect(jsonPath("$.next_cursor").value(frozenTime.toEpochMilli() + "." + secretName));
+
+          verifyAuditing(requestAuditRecordRepository, eventAuditRecordRepository, CREDENTIAL_FIND, null, 200);
+        });
+
+        it("rejects an empty CA name", () -> {
+          mockMvc.perform(get("/api/v1/data?signed-by=")
+              .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+              .accept(APPLICATION_JSON))
+              .andExpect(status().isBadRequest())
+              .andExpect(jsonPath("$.error").value(
+                  "The query parameter signed-by is required for this request."));
+        });
+      });
+
       describe("finding all paths", () -> {
         beforeEach(() -> {
           final MockHttpServletRequestBuilder get = get("/api/v1/data?paths=true")
@@ -254,6 +254,21 @@ public class SecretsControllerGenerateTest {
             );
       });
 
+      it("returns 400 when the request body is malformed", () -> {
+        mockMvc.perform(post("/api/v1/data")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .content("{\"type\":\"password\" \"name\":\"" + secretName + "\"}")
+        )
+            .andExpect(status().isBadRequest())
+            .andExpect(
+                jsonPath("$.error")
+                    .value("The request could not be fulfilled because the request path or " +
+                        "body did not meet expectation. Please check the documentation for " +
+                        "required formatting and retry your request.")
+            );
+      });
+
       it("returns 400 when name is empty", () -> {
         mockMvc.perform(post("/api/v1/data")
             .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
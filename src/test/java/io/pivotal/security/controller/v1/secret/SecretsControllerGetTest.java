@@ -8,6 +8,7 @@ import io.pivotal.security.domain.NamedValueSecret;
 import io.pivotal.security.exceptions.KeyNotFoundException;
 import io.pivotal.security.repository.EventAuditRecordRepository;
 import io.pivotal.security.repository.RequestAuditRecordRepository;
+import io.pivotal.security.request.BulkGetRequest;
 import io.pivotal.security.util.CurrentTimeProvider;
 import io.pivotal.security.util.DatabaseProfileResolver;
 import org.junit.runner.RunWith;
@@ -26,6 +27,8 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
@@ -36,15 +39,18 @@ import static io.pivotal.security.helper.AuditingHelper.verifyAuditing;
 import static io.pivotal.security.helper.SpectrumHelper.mockOutCurrentTimeProvider;
 import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
 import static io.pivotal.security.util.AuthConstants.UAA_OAUTH2_PASSWORD_GRANT_TOKEN;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -249,6 +255,112 @@ public class SecretsControllerGetTest {
                     "to continue."));
       });
     });
+
+    describe("getting a page of versions", () -> {
+      beforeEach(() -> {
+        NamedValueSecret newest = new NamedValueSecret(secretName)
+            .setEncryptor(encryptor)
+            .setUuid(UUID.randomUUID())
+            .setVersionCreatedAt(frozenTime);
+        NamedValueSecret older = new NamedValueSecret(secretName)
+            .setEncryptor(encryptor)
+            .setUuid(UUID.randomUUID())
+            .setVersionCreatedAt(frozenTime.minusSeconds(60));
+
+        doReturn("my value").when(encryptor).decrypt(any(UUID.class), any(byte[].class), any(byte[].class));
+        doReturn(newArrayList(newest, older))
+            .when(secretDataService).findVersionsByName(secretName, null, 2);
+        doReturn(newArrayList(older))
+            .when(secretDataService).findVersionsByName(secretName, null, 3);
+      });
+
+      it("returns the requested number of versions and a cursor when more remain", () -> {
+        mockMvc.perform(get("/api/v1/data?name=" + secretName + "&versions=1")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].version_created_at").value(frozenTime.toString()))
+            .andExpect(jsonPath("$.next_cursor").value(frozenTime.toEpochMilli() + ".1"));
+      });
+
+      it("leaves out the cursor on the last page", () -> {
+        mockMvc.perform(get("/api/v1/data?name=" + secretName + "&versions=2")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.next_cursor").doesNotExist());
+      });
+
+      it("rejects a page size that is out of range", () -> {
+        mockMvc.perform(get("/api/v1/data?name=" + secretName + "&versions=0")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+      });
+    });
+
+    describe("getting many secrets at once", () -> {
+      final String otherSecretName = "/my-namespace/controllerGetTest/other-secret-name";
+
+      beforeEach(() -> {
+        NamedValueSecret valueSecret = new NamedValueSecret(secretName)
+            .setEncryptor(encryptor)
+            .setUuid(UUID.randomUUID())
+            .setVersionCreatedAt(frozenTime);
+        NamedValueSecret otherValueSecret = new NamedValueSecret(otherSecretName)
+            .setEncryptor(encryptor)
+            .setUuid(UUID.randomUUID())
+            .setVersionCreatedAt(frozenTime);
+
+        doReturn("my value").when(encryptor).decrypt(any(UUID.class), any(byte[].class), any(byte[].class));
+        doReturn(newArrayList(valueSecret, otherValueSecret))
+            .when(secretDataService).findMostRecentByNames(any());
+      });
+
+      it("returns the latest version of every credential and audits each one", () -> {
+        mockMvc.perform(post("/api/v1/data/bulk-get")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"names\":[\"" + secretName + "\",\"" + otherSecretName + "\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].name").value(secretName))
+            .andExpect(jsonPath("$.data[1].name").value(otherSecretName))
+            .andExpect(jsonPath("$.data[1].value").value("my value"));
+
+        assertThat(eventAuditRecordRepository.findAll(), hasSize(2));
+      });
+
+      it("returns NOT_FOUND when any of the credentials does not exist", () -> {
+        mockMvc.perform(post("/api/v1/data/bulk-get")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"names\":[\"" + secretName + "\",\"" + otherSecretName
+                + "\",\"/does-not-exist\"]}"))
+            .andExpect(status().isNotFound());
+      });
+
+      it("rejects requests for too many credentials without looking any up", () -> {
+        String names = IntStream.rangeClosed(0, BulkGetRequest.MAX_NAMES)
+            .mapToObj(i -> "\"/name-" + i + "\"")
+            .collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/v1/data/bulk-get")
+            .header("Authorization", "Bearer " + UAA_OAUTH2_PASSWORD_GRANT_TOKEN)
+            .accept(APPLICATION_JSON)
+            .contentType(APPLICATION_JSON)
+            .content("{\"names\":[" + names + "]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(
+                "A request may include at most 500 credential names. Please split your request and retry."));
+
+        verify(secretDataService, never()).findMostRecentByNames(any());
+      });
+    });
   }
 
   private Spectrum.Block makeGetByNameBlock(
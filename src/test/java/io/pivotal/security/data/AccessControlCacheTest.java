@@ -0,0 +1,57 @@
+package io.pivotal.security.data;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static io.pivotal.security.request.AccessControlOperation.READ;
+import static io.pivotal.security.request.AccessControlOperation.WRITE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+@RunWith(JUnit4.class)
+public class AccessControlCacheTest {
+  private AccessControlCache subject;
+
+  @Before
+  public void setup() {
+    subject = new AccessControlCache();
+  }
+
+  @Test
+  public void getPermissionMask_returnsTheCachedMaskIgnoringNameCaseAndLeadingSlash() {
+    long version = subject.getVersion("/test/credential");
+    subject.putPermissionMask("test-actor", "/test/credential", version, READ.getMask() | WRITE.getMask());
+
+    assertThat(subject.getPermissionMask("test-actor", "Test/Credential"),
+        equalTo(READ.getMask() | WRITE.getMask()));
+    assertThat(subject.getPermissionMask("other-actor", "/test/credential"), nullValue());
+  }
+
+  @Test
+  public void invalidate_discardsMasksReadBeforeTheChange() {
+    long version = subject.getVersion("/test/credential");
+    subject.invalidate("/test/credential");
+    subject.putPermissionMask("test-actor", "/test/credential", version, READ.getMask());
+
+    assertThat(subject.getPermissionMask("test-actor", "/test/credential"), nullValue());
+
+    subject.putPermissionMask("test-actor", "/test/credential",
+        subject.getVersion("/test/credential"), READ.getMask());
+
+    assertThat(subject.getPermissionMask("test-actor", "/test/credential"), equalTo(READ.getMask()));
+  }
+
+  @Test
+  public void getPermissionMask_ignoresMasksWhoseVersionWasEvicted() {
+    subject = new AccessControlCache(1);
+    long version = subject.getVersion("/test/credential");
+    subject.putPermissionMask("test-actor", "/test/credential", version, READ.getMask());
+
+    subject.getVersion("/unknown/credential");
+
+    assertThat(subject.getPermissionMask("test-actor", "/test/credential"), nullValue());
+  }
+}
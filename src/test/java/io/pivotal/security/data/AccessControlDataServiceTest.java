@@ -30,7 +30,9 @@ import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.hamcrest.core.IsEqual.equalTo;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 @RunWith(Spectrum.class)
 @ActiveProfiles(value = "unit-test", resolver = DatabaseProfileResolver.class)
@@ -112,6 +114,35 @@ public class AccessControlDataServiceTest {
               hasItem(AccessControlOperation.READ));
         });
       });
+
+      describe("when given ACEs for many actors at once", () -> {
+        beforeEach(() -> {
+          seedDatabase();
+          aces = asList(
+              new AccessControlEntry("Luke", singletonList(AccessControlOperation.DELETE)),
+              new AccessControlEntry("Han", singletonList(AccessControlOperation.READ)),
+              new AccessControlEntry("Chewie", asList(AccessControlOperation.READ, AccessControlOperation.WRITE)),
+              new AccessControlEntry("Han", singletonList(AccessControlOperation.WRITE)));
+        });
+
+        it("merges them with the existing entries and persists them all", () -> {
+          List<AccessControlEntry> response = subject.setAccessControlEntries("/lightsaber", aces);
+
+          assertThat(response, hasSize(4));
+          assertThat(subject.getAccessControlList("/lightsaber"), containsInAnyOrder(
+              allOf(hasProperty("actor", equalTo("Luke")),
+                  hasProperty("allowedOperations",
+                      contains(AccessControlOperation.WRITE, AccessControlOperation.DELETE))),
+              allOf(hasProperty("actor", equalTo("Leia")),
+                  hasProperty("allowedOperations", contains(AccessControlOperation.READ))),
+              allOf(hasProperty("actor", equalTo("Han")),
+                  hasProperty("allowedOperations",
+                      contains(AccessControlOperation.READ, AccessControlOperation.WRITE))),
+              allOf(hasProperty("actor", equalTo("Chewie")),
+                  hasProperty("allowedOperations",
+                      contains(AccessControlOperation.READ, AccessControlOperation.WRITE)))));
+        });
+      });
     });
 
     describe("#deleteAccessControlEntry", () -> {
@@ -190,6 +221,28 @@ public class AccessControlDataServiceTest {
         });
       });
     });
+
+    describe("#getPermissionsForActor", () -> {
+      beforeEach(() -> {
+        seedDatabase();
+        secretDataService.save(new NamedValueSecret("/Test/Credential"));
+        subject.setAccessControlEntries("/Test/Credential", singletonList(
+            new AccessControlEntry("Leia", asList(AccessControlOperation.READ, AccessControlOperation.DELETE))));
+      });
+
+      it("returns the operations granted on every credential, keyed by lower-cased name", () -> {
+        Map<String, EnumSet<AccessControlOperation>> permissions = subject.getPermissionsForActor("Leia");
+
+        assertThat(permissions.keySet(), containsInAnyOrder("/lightsaber", "/test/credential"));
+        assertThat(permissions.get("/lightsaber"), contains(AccessControlOperation.READ));
+        assertThat(permissions.get("/test/credential"),
+            contains(AccessControlOperation.READ, AccessControlOperation.DELETE));
+      });
+
+      it("returns nothing for an actor without entries", () -> {
+        assertThat(subject.getPermissionsForActor("Han").isEmpty(), equalTo(true));
+      });
+    });
   }
 
   private void seedDatabase() {
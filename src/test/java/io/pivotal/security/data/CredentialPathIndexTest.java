@@ -0,0 +1,95 @@
+package io.pivotal.security.data;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.nCopies;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(JUnit4.class)
+public class CredentialPathIndexTest {
+  private JdbcTemplate jdbcTemplate;
+  private CredentialPathIndex subject;
+
+  @Before
+  public void setup() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = (RowCallbackHandler) invocation.getArguments()[1];
+      for (String name : newArrayList("/fubario", "/value/Secret", "/certif/ic/ateSecret")) {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getString("name")).thenReturn(name);
+        handler.processRow(resultSet);
+      }
+      return null;
+    }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+    subject = new CredentialPathIndex(jdbcTemplate);
+  }
+
+  @Test
+  public void getPaths_loadsEveryPathOnceAndReturnsThemSorted() {
+    assertThat(subject.getPaths(), equalTo(newArrayList("/", "/certif/", "/certif/ic/", "/value/")));
+    assertThat(subject.getPaths(), equalTo(newArrayList("/", "/certif/", "/certif/ic/", "/value/")));
+
+    verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  public void getPaths_loadsOnceWhenCalledFromSeveralThreadsAtOnce() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Callable<List<String>> getPaths = () -> subject.getPaths();
+      for (Future<List<String>> paths : executor.invokeAll(nCopies(8, getPaths))) {
+        assertThat(paths.get(), equalTo(newArrayList("/", "/certif/", "/certif/ic/", "/value/")));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  public void add_includesThePathsOfNewCredentials() {
+    subject.getPaths();
+    subject.add("password/Secret");
+
+    assertThat(subject.getPaths(),
+        equalTo(newArrayList("/", "/certif/", "/certif/ic/", "/password/", "/value/")));
+  }
+
+  @Test
+  public void remove_keepsPathsThatOtherCredentialsStillUse() {
+    subject.getPaths();
+    subject.add("/certif/other");
+    subject.remove("/CERTIF/IC/ATESECRET");
+
+    assertThat(subject.getPaths(), equalTo(newArrayList("/", "/certif/", "/value/")));
+
+    subject.remove("/certif/other");
+    subject.remove("/does/not/exist");
+
+    assertThat(subject.getPaths(), equalTo(newArrayList("/", "/value/")));
+  }
+}
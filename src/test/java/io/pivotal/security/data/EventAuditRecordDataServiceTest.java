@@ -4,9 +4,13 @@ import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.CredentialManagerApp;
 import io.pivotal.security.entity.EventAuditRecord;
 import io.pivotal.security.entity.RequestAuditRecord;
+import io.pivotal.security.entity.SecretName;
 import io.pivotal.security.repository.EventAuditRecordRepository;
+import io.pivotal.security.repository.SecretNameRepository;
+import io.pivotal.security.request.AccessControlEntry;
 import io.pivotal.security.util.CurrentTimeProvider;
 import io.pivotal.security.util.DatabaseProfileResolver;
+import io.pivotal.security.view.AuditEventView;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -22,10 +26,14 @@ import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static io.pivotal.security.helper.SpectrumHelper.mockOutCurrentTimeProvider;
 import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
+import static io.pivotal.security.request.AccessControlOperation.READ;
+import static io.pivotal.security.request.AccessControlOperation.WRITE;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
 
 @RunWith(Spectrum.class)
 @ActiveProfiles(value = {"unit-test"}, resolver = DatabaseProfileResolver.class)
@@ -39,6 +47,10 @@ public class EventAuditRecordDataServiceTest {
   RequestAuditRecordDataService requestAuditRecordDataService;
   @Autowired
   EventAuditRecordRepository eventAuditRecordRepository;
+  @Autowired
+  SecretNameRepository secretNameRepository;
+  @Autowired
+  AccessControlDataService accessControlDataService;
   @MockBean
   CurrentTimeProvider currentTimeProvider;
   private RequestAuditRecord requestAuditRecord;
@@ -97,5 +109,87 @@ public class EventAuditRecordDataServiceTest {
         assertThat(actual.getNow(), equalTo(frozenTime));
       });
     });
+
+    describe("#findEvents", () -> {
+      beforeEach(() -> {
+        saveEventAt(frozenTime.plusSeconds(1), "/first", "actor-1");
+        saveEventAt(frozenTime.plusSeconds(2), "/second", "actor-2");
+        saveEventAt(frozenTime.plusSeconds(2), "/first", "actor-2");
+        saveEventAt(frozenTime.plusSeconds(3), "/first", "actor-1");
+      });
+
+      it("should return the most recent events first, joined with their request", () -> {
+        List<AuditEventView> events = subject.findEvents(
+            null, null, Instant.EPOCH, frozenTime.plusSeconds(10), null, 10);
+
+        assertThat(events, hasSize(4));
+        assertThat(events.get(0).getNow(), equalTo(frozenTime.plusSeconds(3)));
+        assertThat(events.get(0).getPath(), equalTo("/api/foo"));
+        assertThat(events.get(0).getStatusCode(), equalTo(200));
+        assertThat(events.get(0).getRequestUuid(), equalTo(requestAuditRecord.getUuid().toString()));
+        assertThat(events.get(3).getNow(), equalTo(frozenTime.plusSeconds(1)));
+      });
+
+      it("should filter by credential name, actor and time range", () -> {
+        List<AuditEventView> events = subject.findEvents(
+            "first", "actor-1", Instant.EPOCH, frozenTime.plusSeconds(2), null, 10);
+
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getCredentialName(), equalTo("/first"));
+        assertThat(events.get(0).getNow(), equalTo(frozenTime.plusSeconds(1)));
+      });
+
+      it("should only return events on credentials the given actor may read", () -> {
+        secretNameRepository.saveAndFlush(new SecretName("/first"));
+        secretNameRepository.saveAndFlush(new SecretName("/second"));
+        accessControlDataService.setAccessControlEntries("/first",
+            singletonList(new AccessControlEntry("reader", singletonList(READ))));
+        accessControlDataService.setAccessControlEntries("/second",
+            singletonList(new AccessControlEntry("reader", singletonList(WRITE))));
+
+        List<AuditEventView> events = subject.findEvents(
+            null, null, "reader", Instant.EPOCH, frozenTime.plusSeconds(10), null, 10);
+
+        assertThat(events, hasSize(3));
+        assertThat(events.stream().allMatch(event -> "/first".equals(event.getCredentialName())),
+            equalTo(true));
+        assertThat(subject.findEvents(
+            null, null, "someone-else", Instant.EPOCH, frozenTime.plusSeconds(10), null, 10),
+            hasSize(0));
+      });
+
+      it("should page through events sharing a timestamp without repeating any", () -> {
+        List<AuditEventView> firstPage = subject.findEvents(
+            null, null, Instant.EPOCH, frozenTime.plusSeconds(10), null, 2);
+        TimestampCursor cursor = subject.nextCursor(firstPage, null, 2);
+
+        assertThat(cursor.toString(), equalTo(frozenTime.plusSeconds(2).toEpochMilli() + ".1"));
+
+        List<AuditEventView> secondPage = subject.findEvents(
+            null, null, Instant.EPOCH, frozenTime.plusSeconds(10), cursor, 2);
+        cursor = subject.nextCursor(secondPage, cursor, 2);
+
+        assertThat(secondPage, hasSize(2));
+        assertThat(secondPage.get(0).getNow(), equalTo(frozenTime.plusSeconds(2)));
+        assertThat(secondPage.get(1).getNow(), equalTo(frozenTime.plusSeconds(1)));
+
+        List<AuditEventView> lastPage = subject.findEvents(
+            null, null, Instant.EPOCH, frozenTime.plusSeconds(10), cursor, 2);
+
+        assertThat(lastPage, hasSize(0));
+        assertThat(subject.nextCursor(lastPage, cursor, 2), nullValue());
+      });
+    });
+  }
+
+  private void saveEventAt(Instant now, String credentialName, String actor) {
+    mockOutCurrentTimeProvider(currentTimeProvider).accept(now.toEpochMilli());
+    subject.save(new EventAuditRecord(
+        "credential_access",
+        credentialName,
+        actor,
+        requestAuditRecord.getUuid(),
+        true
+    ));
   }
 }
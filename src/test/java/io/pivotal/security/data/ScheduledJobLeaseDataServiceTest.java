@@ -0,0 +1,70 @@
+package io.pivotal.security.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import io.pivotal.security.CredentialManagerApp;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles(value = {"unit-test", "unit-test-h2"})
+@DataJpaTest
+@ContextConfiguration(classes = CredentialManagerApp.class)
+public class ScheduledJobLeaseDataServiceTest {
+
+  private static final String JOB_NAME = "certificate_expiry_regeneration";
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  private ScheduledJobLeaseDataService instanceOne;
+  private ScheduledJobLeaseDataService instanceTwo;
+
+  @Before
+  public void beforeEach() {
+    instanceOne = new ScheduledJobLeaseDataService(jdbcTemplate);
+    instanceTwo = new ScheduledJobLeaseDataService(jdbcTemplate);
+  }
+
+  @Test
+  public void tryAcquire_letsOnlyOneInstanceHoldTheLease() {
+    Instant now = Instant.ofEpochMilli(1_000_000L);
+
+    assertThat(instanceOne.tryAcquire(JOB_NAME, now, 60_000L), equalTo(true));
+    assertThat(instanceTwo.tryAcquire(JOB_NAME, now.plusMillis(1), 60_000L), equalTo(false));
+  }
+
+  @Test
+  public void tryAcquire_letsTheHolderRenewTheLease() {
+    Instant now = Instant.ofEpochMilli(1_000_000L);
+
+    instanceOne.tryAcquire(JOB_NAME, now, 60_000L);
+
+    assertThat(instanceOne.tryAcquire(JOB_NAME, now.plusMillis(30_000L), 60_000L), equalTo(true));
+    assertThat(instanceTwo.tryAcquire(JOB_NAME, now.plusMillis(60_000L), 60_000L), equalTo(false));
+  }
+
+  @Test
+  public void tryAcquire_handsAnExpiredLeaseToAnotherInstance() {
+    Instant now = Instant.ofEpochMilli(1_000_000L);
+
+    instanceOne.tryAcquire(JOB_NAME, now, 60_000L);
+
+    assertThat(instanceTwo.tryAcquire(JOB_NAME, now.plusMillis(60_000L), 60_000L), equalTo(true));
+    assertThat(instanceOne.tryAcquire(JOB_NAME, now.plusMillis(60_001L), 60_000L), equalTo(false));
+  }
+
+  @Test
+  public void tryAcquire_refusesUnknownJobs() {
+    assertThat(instanceOne.tryAcquire("unknown", Instant.now(), 60_000L), equalTo(false));
+  }
+}
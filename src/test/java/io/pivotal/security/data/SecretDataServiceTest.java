@@ -16,6 +16,7 @@ import io.pivotal.security.entity.NamedValueSecretData;
 import io.pivotal.security.entity.SecretName;
 import io.pivotal.security.helper.EncryptionCanaryHelper;
 import io.pivotal.security.repository.SecretNameRepository;
+import io.pivotal.security.request.AccessControlEntry;
 import io.pivotal.security.repository.SecretRepository;
 import io.pivotal.security.service.EncryptionKeyCanaryMapper;
 import io.pivotal.security.util.CurrentTimeProvider;
@@ -33,6 +34,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -44,12 +46,16 @@ import static com.greghaskins.spectrum.Spectrum.beforeEach;
 import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static io.pivotal.security.helper.SpectrumHelper.mockOutCurrentTimeProvider;
+import static io.pivotal.security.request.AccessControlOperation.READ;
+import static io.pivotal.security.request.AccessControlOperation.WRITE;
 import static io.pivotal.security.helper.SpectrumHelper.wireAndUnwire;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -79,6 +85,9 @@ public class SecretDataServiceTest {
   @Autowired
   SecretNameRepository secretNameRepository;
 
+  @Autowired
+  AccessControlDataService accessControlDataService;
+
   @SpyBean
   EncryptionKeyCanaryMapper encryptionKeyCanaryMapper;
 
@@ -369,6 +378,59 @@ public class SecretDataServiceTest {
       });
     });
 
+    describe("#findMostRecentByNames", () -> {
+      it("returns the latest version of each existing name, in the order requested", () -> {
+        saveNamedPassword(2000000000123L, "/first");
+        NamedPasswordSecret firstNewer = saveNamedPassword(3000000000123L, "/FIRST");
+        NamedPasswordSecret second = saveNamedPassword(2000000000123L, "/second");
+
+        List<NamedSecret> secrets = subject
+            .findMostRecentByNames(Arrays.asList("second", "/does-not-exist", "/first"));
+
+        assertThat(secrets.stream().map(NamedSecret::getUuid).collect(Collectors.toList()),
+            contains(second.getUuid(), firstNewer.getUuid()));
+      });
+
+      it("looks up more names than fit in one query", () -> {
+        NamedPasswordSecret first = saveNamedPassword(2000000000123L, "/first");
+        NamedPasswordSecret last = saveNamedPassword(2000000000123L, "/last");
+        List<String> names = new ArrayList<>();
+        names.add("/first");
+        for (int i = 0; i < SecretDataService.MAX_NAMES_PER_QUERY; i++) {
+          names.add("/does-not-exist-" + i);
+        }
+        names.add("/last");
+
+        List<NamedSecret> secrets = subject.findMostRecentByNames(names);
+
+        assertThat(secrets.stream().map(NamedSecret::getUuid).collect(Collectors.toList()),
+            contains(first.getUuid(), last.getUuid()));
+      });
+    });
+
+    describe("#findMostRecentMetadataByNames", () -> {
+      it("describes the latest version of each existing name without loading it", () -> {
+        saveNamedPassword(2000000000123L, "/first");
+        NamedPasswordSecret firstNewer = saveNamedPassword(3000000000123L, "/FIRST");
+
+        NamedCertificateSecretData certificateSecretData = new NamedCertificateSecretData("/cert");
+        certificateSecretData.setEncryptionKeyUuid(activeCanaryUuid);
+        NamedCertificateSecret certificate = subject.save(certificateSecretData);
+
+        List<SecretMetadata> metadata = subject
+            .findMostRecentMetadataByNames(Arrays.asList("first", "/does-not-exist", "/CERT"));
+
+        assertThat(metadata, hasSize(2));
+        assertThat(metadata.get(0).getUuid(), equalTo(firstNewer.getUuid()));
+        assertThat(metadata.get(0).getName(), equalTo("/first"));
+        assertThat(metadata.get(0).getSecretType(), equalTo("password"));
+        assertThat(metadata.get(0).getVersionCreatedAt(),
+            equalTo(Instant.ofEpochMilli(3000000000123L)));
+        assertThat(metadata.get(1).getUuid(), equalTo(certificate.getUuid()));
+        assertThat(metadata.get(1).getSecretType(), equalTo("certificate"));
+      });
+    });
+
     describe("#findByUuid", () -> {
       it("should be able to find secret by uuid", () -> {
         NamedPasswordSecretData namedPasswordSecretData = new NamedPasswordSecretData("/my-secret");
@@ -524,6 +586,30 @@ public class SecretDataServiceTest {
         ));
       });
 
+      describe("one page at a time", () -> {
+        beforeEach(() -> {
+          saveNamedPassword(1000000000123L, "/secret/4");
+        });
+
+        it("continues after the cursor, ordering secrets created together by name", () -> {
+          List<SecretView> firstPage = subject.findStartingWithPath("Secret/", null, 2);
+          assertThat(firstPage, IsIterableContainingInOrder.contains(
+              hasProperty("name", equalTo("/Secret/2")),
+              hasProperty("name", equalTo("/secret/1"))
+          ));
+
+          List<SecretView> secondPage = subject.findStartingWithPath(
+              "Secret/", FindCredentialCursor.after(firstPage.get(1)), 2);
+          assertThat(secondPage, IsIterableContainingInOrder.contains(
+              hasProperty("name", equalTo("/SECRET/3")),
+              hasProperty("name", equalTo("/secret/4"))
+          ));
+
+          assertThat(subject.findStartingWithPath(
+              "Secret/", FindCredentialCursor.after(secondPage.get(1)), 2), empty());
+        });
+      });
+
       describe("when there are duplicate names", () -> {
         beforeEach(() -> {
           saveNamedPassword(2000000000123L, "/DupSecret/1");
@@ -597,6 +683,116 @@ public class SecretDataServiceTest {
       });
     });
 
+    describe("#findVersionsByName", () -> {
+      it("pages through versions newest first", () -> {
+        NamedPasswordSecret oldest = saveNamedPassword(1000000000123L, "/versioned");
+        NamedPasswordSecret middle = saveNamedPassword(2000000000123L, "/versioned");
+        NamedPasswordSecret newest = saveNamedPassword(3000000000123L, "/VERSIONED");
+        saveNamedPassword(4000000000123L, "/other");
+
+        List<NamedSecret> firstPage = subject.findVersionsByName("versioned", null, 2);
+        assertThat(firstPage.stream().map(NamedSecret::getUuid).collect(Collectors.toList()),
+            contains(newest.getUuid(), middle.getUuid()));
+
+        TimestampCursor cursor = TimestampCursor.parse(middle.getVersionCreatedAt().toEpochMilli() + ".1");
+        List<NamedSecret> secondPage = subject.findVersionsByName("/versioned", cursor, 2);
+        assertThat(secondPage.stream().map(NamedSecret::getUuid).collect(Collectors.toList()),
+            contains(oldest.getUuid()));
+      });
+    });
+
+    describe("#findSignedBy", () -> {
+      it("returns certificates whose latest version names the CA, newest first", () -> {
+        saveNamedCertificate(2000000000123L, "/leaf", 0L, "/my-ca");
+        saveNamedCertificate(3000000000123L, "/other-leaf", 0L, "/My-CA");
+        saveNamedCertificate(2000000000123L, "/moved", 0L, "/my-ca");
+        saveNamedCertificate(3000000000123L, "/moved", 0L, "/other-ca");
+        saveNamedCertificate(2000000000123L, "/unrelated", 0L, "/other-ca");
+
+        assertThat(subject.findSignedBy("my-ca").stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/other-leaf", "/leaf"));
+        assertThat(subject.findSignedBy("/my-ca", null, 1).stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/other-leaf"));
+        assertThat(subject.findSignedBy("/my-ca",
+            new FindCredentialCursor(Instant.ofEpochMilli(3000000000123L), "/other-leaf"), 10)
+                .stream().map(SecretView::getName).collect(Collectors.toList()),
+            contains("/leaf"));
+      });
+
+      it("finds certificates whose CA was named without a leading slash", () -> {
+        saveNamedCertificate(2000000000123L, "/leaf", 0L, "my-ca");
+
+        assertThat(subject.findSignedBy("my-ca").stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/leaf"));
+        assertThat(subject.findSignedBy("/my-ca").stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/leaf"));
+      });
+
+      it("only returns certificates the actor may read when given an actor", () -> {
+        saveNamedCertificate(2000000000123L, "/readable", 0L, "/my-ca");
+        saveNamedCertificate(3000000000123L, "/unreadable", 0L, "/my-ca");
+        accessControlDataService.setAccessControlEntries("/readable",
+            singletonList(new AccessControlEntry("reader", singletonList(READ))));
+        accessControlDataService.setAccessControlEntries("/unreadable",
+            singletonList(new AccessControlEntry("reader", singletonList(WRITE))));
+
+        assertThat(subject.findSignedBy("/my-ca", "reader").stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/readable"));
+        assertThat(subject.findSignedBy("/my-ca", "reader", null, 10).stream()
+                .map(SecretView::getName).collect(Collectors.toList()),
+            contains("/readable"));
+        assertThat(subject.findSignedBy("/my-ca", "someone-else"), empty());
+      });
+    });
+
+    describe("#findCertificatesExpiringBefore", () -> {
+      it("returns names whose latest version expires in time, soonest first", () -> {
+        saveNamedCertificate(2000000000123L, "/soon", 3000L);
+        saveNamedCertificate(2000000000123L, "/sooner", 2000L);
+        saveNamedCertificate(2000000000123L, "/later", 9000L);
+        saveNamedCertificate(2000000000123L, "/replaced", 1000L);
+        saveNamedCertificate(3000000000123L, "/replaced", 9000L);
+
+        assertThat(subject.findCertificatesExpiringBefore(
+            Instant.ofEpochMilli(5000L), Instant.ofEpochMilli(4000000000123L), 0, 10),
+            contains("/sooner", "/soon"));
+        assertThat(subject.findCertificatesExpiringBefore(
+            Instant.ofEpochMilli(5000L), Instant.ofEpochMilli(4000000000123L), 1, 10),
+            contains("/soon"));
+      });
+
+      it("leaves out versions created after the given instant", () -> {
+        saveNamedCertificate(2000000000123L, "/old", 1000L);
+        saveNamedCertificate(3000000000123L, "/new", 1000L);
+
+        assertThat(subject.findCertificatesExpiringBefore(
+            Instant.ofEpochMilli(5000L), Instant.ofEpochMilli(3000000000123L), 0, 10),
+            contains("/old"));
+      });
+    });
+
+    describe("#deleteVersionsBeyond", () -> {
+      it("keeps only the newest versions of each credential", () -> {
+        saveNamedPassword(1000000000123L, "/pruned");
+        NamedPasswordSecret middle = saveNamedPassword(2000000000123L, "/pruned");
+        NamedPasswordSecret newest = saveNamedPassword(3000000000123L, "/pruned");
+        NamedPasswordSecret untouched = saveNamedPassword(1000000000123L, "/untouched");
+
+        assertThat(subject.deleteVersionsBeyond(2), equalTo(1));
+
+        assertThat(subject.findAllByName("/pruned").stream()
+                .map(NamedSecret::getUuid).collect(Collectors.toList()),
+            containsInAnyOrder(middle.getUuid(), newest.getUuid()));
+        assertThat(subject.findAllByName("/untouched").get(0).getUuid(),
+            equalTo(untouched.getUuid()));
+      });
+    });
+
     describe("#findAllByName", () -> {
       describe("when there are matching secrets", () -> {
         it("finds all by name", () -> {
@@ -681,6 +877,27 @@ public class SecretDataServiceTest {
     return subject.save(secretObject);
   }
 
+  private NamedCertificateSecret saveNamedCertificate(long timeMillis, String name,
+      long notAfterMillis) {
+    return saveNamedCertificate(timeMillis, name, notAfterMillis, null);
+  }
+
+  private NamedCertificateSecret saveNamedCertificate(long timeMillis, String name,
+      long notAfterMillis, String caName) {
+    fakeTimeSetter.accept(timeMillis);
+    SecretName secretName = secretNameRepository
+        .findOneByNameIgnoreCase(StringUtils.prependIfMissing(name, "/"));
+    if (secretName == null) {
+      secretName = secretNameRepository.saveAndFlush(new SecretName(name));
+    }
+    NamedCertificateSecretData secretObject = new NamedCertificateSecretData();
+    secretObject.setSecretName(secretName);
+    secretObject.setEncryptionKeyUuid(activeCanaryUuid);
+    secretObject.setNotAfter(Instant.ofEpochMilli(notAfterMillis));
+    secretObject.setCaName(caName);
+    return subject.save(secretObject);
+  }
+
   private NamedPasswordSecret saveNamedPassword(long timeMillis, String secretName) {
     return saveNamedPassword(timeMillis, secretName, activeCanaryUuid);
   }
@@ -29,7 +29,9 @@ import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Supplier;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.BasicConstraints;
@@ -77,7 +79,8 @@ public class CertificateGeneratorTest {
       signedCertificateGenerator = mock(SignedCertificateGenerator.class);
       certificateAuthorityService = mock(CertificateAuthorityService.class);
 
-      subject = new CertificateGenerator(keyGenerator, signedCertificateGenerator,
+      subject = new CertificateGenerator(keyGenerator,
+          new EcKeyPairGenerator(getBouncyCastleProvider()), signedCertificateGenerator,
           certificateAuthorityService, getBouncyCastleProvider());
 
       fakeKeyPairGenerator = new FakeKeyPairGenerator();
@@ -162,6 +165,20 @@ public class CertificateGeneratorTest {
           assertThat(certificateSecret, notNullValue());
           verify(keyGenerator, times(1)).generateKeyPair(4096);
         });
+
+        it("loads the CA once when generating a batch signed by it", () -> {
+          List<Certificate> certificates = subject
+              .generateSecrets(Arrays.asList(inputParameters, inputParameters, inputParameters));
+
+          assertThat(certificates.size(), equalTo(3));
+          for (Certificate certificate : certificates) {
+            assertThat(certificate.getCaCertificate(), equalTo(rootCa.getPublicKeyCertificate()));
+            assertThat(certificate.getPublicKeyCertificate(),
+                equalTo(CertificateFormatter.pemOf(childX509Certificate)));
+          }
+          verify(certificateAuthorityService, times(1)).findMostRecent("my-ca-name");
+          verify(keyGenerator, times(3)).generateKeyPair(2048);
+        });
       });
 
       describe("and it is an intermediate CA", () -> {
@@ -1,14 +1,25 @@
 package io.pivotal.security.generator;
 
+import static com.greghaskins.spectrum.Spectrum.afterEach;
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static io.pivotal.security.helper.SpectrumHelper.getBouncyCastleProvider;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
 import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.jna.libcrypto.CryptoWrapper;
 import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.runner.RunWith;
 
 @RunWith(Spectrum.class)
@@ -17,14 +28,58 @@ public class LibcryptoRsaKeyPairGeneratorTest {
   private LibcryptoRsaKeyPairGenerator subject;
 
   {
-    beforeEach(() -> {
-      subject = new LibcryptoRsaKeyPairGenerator(new CryptoWrapper(getBouncyCastleProvider()));
+    describe("without pre-generated keys", () -> {
+      beforeEach(() -> {
+        subject = new LibcryptoRsaKeyPairGenerator(
+            new CryptoWrapper(getBouncyCastleProvider()), 0);
+      });
+
+      afterEach(() -> subject.shutdown());
+
+      it("can generate keypairs", () -> {
+        KeyPair keyPair = subject.generateKeyPair(2048);
+        assertThat(keyPair.getPublic(), notNullValue());
+        assertThat(keyPair.getPrivate(), notNullValue());
+      });
+
+      it("can be called from several threads at once", () -> {
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+          Callable<KeyPair> generate = () -> subject.generateKeyPair(2048);
+          List<Future<KeyPair>> futures = IntStream.range(0, 8)
+              .mapToObj(i -> callers.submit(generate))
+              .collect(Collectors.toList());
+
+          for (Future<KeyPair> future : futures) {
+            RSAPublicKey publicKey = (RSAPublicKey) future.get().getPublic();
+            assertThat(publicKey.getModulus().bitLength(), equalTo(2048));
+          }
+        } finally {
+          callers.shutdown();
+        }
+      });
     });
 
-    it("can generate keypairs", () -> {
-      KeyPair keyPair = subject.generateKeyPair(2048);
-      assertThat(keyPair.getPublic(), notNullValue());
-      assertThat(keyPair.getPrivate(), notNullValue());
+    describe("with pre-generated keys", () -> {
+      beforeEach(() -> {
+        subject = new LibcryptoRsaKeyPairGenerator(
+            new CryptoWrapper(getBouncyCastleProvider()), 1);
+      });
+
+      afterEach(() -> subject.shutdown());
+
+      it("hands out keys of the requested length", () -> {
+        KeyPair keyPair = subject.generateKeyPair(2048);
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        assertThat(publicKey.getModulus().bitLength(), equalTo(2048));
+      });
+
+      it("generates lengths that are not pooled on demand", () -> {
+        KeyPair keyPair = subject.generateKeyPair(1024);
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        assertThat(publicKey.getModulus().bitLength(), equalTo(1024));
+        assertThat(subject.pregeneratedKeyCount(1024), equalTo(0));
+      });
     });
   }
 }
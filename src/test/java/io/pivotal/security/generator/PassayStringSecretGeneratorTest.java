@@ -3,79 +3,90 @@ package io.pivotal.security.generator;
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyList;
-import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.request.PasswordGenerationParameters;
 import io.pivotal.security.secret.Password;
-import java.util.List;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
-import org.passay.CharacterRule;
-import org.passay.PasswordGenerator;
-
 
 @RunWith(Spectrum.class)
 public class PassayStringSecretGeneratorTest {
 
-  private PasswordGenerator passwordGenerator;
   private PassayStringSecretGenerator subject;
 
-  @Captor
-  private ArgumentCaptor<List<CharacterRule>> captor;
-
   {
     beforeEach(() -> {
-      passwordGenerator = mock(PasswordGenerator.class);
-      subject = new PassayStringSecretGenerator(passwordGenerator);
+      subject = new PassayStringSecretGenerator();
     });
 
     it("can generate secret", () -> {
-      PasswordGenerationParameters secretParameters = new PasswordGenerationParameters();
+      Password secretValue = subject.generateSecret(new PasswordGenerationParameters());
 
-      when(passwordGenerator.generatePassword(eq(subject.DEFAULT_LENGTH), any(List.class)))
-          .thenReturn("very-secret");
-
-      Password secretValue = subject.generateSecret(secretParameters);
-      assertThat(secretValue.getPassword(), equalTo("very-secret"));
+      assertThat(secretValue.getPassword().length(), equalTo(subject.DEFAULT_LENGTH));
+      assertThat(secretValue.getPassword().matches(".*[0-9].*"), equalTo(true));
+      assertThat(secretValue.getPassword().matches(".*[A-Z].*"), equalTo(true));
+      assertThat(secretValue.getPassword().matches(".*[a-z].*"), equalTo(true));
+      assertThat(secretValue.getPassword().matches("[0-9A-Za-z]+"), equalTo(true));
     });
 
     it("can generate secret with specific length", () -> {
-      when(passwordGenerator.generatePassword(eq(42), anyList())).thenReturn("very-secret");
-
       PasswordGenerationParameters secretParameters = new PasswordGenerationParameters();
       secretParameters.setLength(42);
 
       Password secretValue = subject.generateSecret(secretParameters);
-      assertThat(secretValue.getPassword(), equalTo("very-secret"));
+      assertThat(secretValue.getPassword().length(), equalTo(42));
     });
 
     it("ignores too-small length values", () -> {
-      when(passwordGenerator.generatePassword(eq(subject.DEFAULT_LENGTH), anyList()))
-          .thenReturn("very-secret");
-
       PasswordGenerationParameters secretParameters = new PasswordGenerationParameters();
       secretParameters.setLength(3);
 
       Password secretValue = subject.generateSecret(secretParameters);
-      assertThat(secretValue.getPassword(), equalTo("very-secret"));
+      assertThat(secretValue.getPassword().length(), equalTo(subject.DEFAULT_LENGTH));
     });
 
     it("ignores too-large length values", () -> {
-      when(passwordGenerator.generatePassword(eq(subject.DEFAULT_LENGTH), anyList()))
-          .thenReturn("very-secret");
-
       PasswordGenerationParameters secretParameters = new PasswordGenerationParameters();
       secretParameters.setLength(201);
 
       Password secretValue = subject.generateSecret(secretParameters);
-      assertThat(secretValue.getPassword(), equalTo("very-secret"));
+      assertThat(secretValue.getPassword().length(), equalTo(subject.DEFAULT_LENGTH));
+    });
+
+    it("includes every required character class even at the minimum length", () -> {
+      PasswordGenerationParameters secretParameters = new PasswordGenerationParameters()
+          .setIncludeSpecial(true)
+          .setLength(4);
+
+      for (int i = 0; i < 100; i++) {
+        String password = subject.generateSecret(secretParameters).getPassword();
+        assertThat(password.matches(".*[0-9].*"), equalTo(true));
+        assertThat(password.matches(".*[A-Z].*"), equalTo(true));
+        assertThat(password.matches(".*[a-z].*"), equalTo(true));
+        assertThat(password.matches(".*[^0-9A-Za-z].*"), equalTo(true));
+      }
+    });
+
+    it("only uses the allowed characters", () -> {
+      PasswordGenerationParameters secretParameters = new PasswordGenerationParameters()
+          .setExcludeLower(true)
+          .setExcludeUpper(true);
+
+      String password = subject.generateSecret(secretParameters).getPassword();
+      assertThat(password.matches("[0-9]+"), equalTo(true));
+
+      String hex = subject.generateSecret(new PasswordGenerationParameters().setOnlyHex(true))
+          .getPassword();
+      assertThat(hex.matches("[0-9A-F]+"), equalTo(true));
+    });
+
+    it("generates different secrets", () -> {
+      PasswordGenerationParameters secretParameters = new PasswordGenerationParameters();
+
+      assertThat(subject.generateSecret(secretParameters).getPassword(),
+          not(equalTo(subject.generateSecret(secretParameters).getPassword())));
     });
   }
 }
@@ -33,6 +33,7 @@ import java.security.cert.PKIXBuilderParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -269,6 +270,16 @@ public class SignedCertificateGeneratorTest {
         final CertPathBuilderResult builderResult = certPathBuilder.build(builderParameters);
         builderResult.getCertPath();
       });
+
+      it("produces valid signatures when the same issuer signs repeatedly", () -> {
+        X509Certificate first = subject.getSignedByIssuer(issuerDistinguishedName,
+            issuerPrivateKey, certKeyPair, generationParameters);
+        X509Certificate second = subject.getSignedByIssuer(issuerDistinguishedName,
+            issuerPrivateKey, certKeyPair, generationParameters);
+
+        first.verify(issuerKeyPair.getPublic());
+        second.verify(issuerKeyPair.getPublic());
+      });
     });
 
     describe("a self-signed certificate", () -> {
@@ -298,6 +309,39 @@ public class SignedCertificateGeneratorTest {
       describe("must behave like", validCertificateSuite.build(makeCert));
     });
 
+    describe("a self-signed ECDSA certificate", () -> {
+      beforeEach(() -> {
+        KeyPairGenerator generator = KeyPairGenerator
+            .getInstance("EC", BouncyCastleProvider.PROVIDER_NAME);
+        generator.initialize(new ECGenParameterSpec("secp384r1"));
+        certKeyPair = generator.generateKeyPair();
+
+        issuerKeyPair = certKeyPair; // self-signed
+        inputParameters = new CertificateGenerationParameters();
+        inputParameters.setCommonName("my test cert");
+        inputParameters.setOrganization("credhub");
+        inputParameters.setDuration(10);
+        inputParameters.setKeyType("ecdsa");
+        inputParameters.setKeyLength(384);
+        isCa = "[]";
+
+        subjectDistinguishedName = new X500Name("CN=my test cert,O=credhub");
+        issuerDistinguishedName = subjectDistinguishedName;
+        generationParameters = new CertificateParameters(inputParameters);
+      });
+
+      final ThrowingRunnable makeCert = () -> {
+        generatedCert = subject.getSelfSigned(certKeyPair, generationParameters);
+      };
+
+      describe("must behave like", validCertificateSuite.build(makeCert));
+
+      it("is signed with ECDSA", () -> {
+        makeCert.run();
+        assertThat(generatedCert.getSigAlgName(), equalTo("SHA384WITHECDSA"));
+      });
+    });
+
     describe("a generated self-signed CA", () -> {
       beforeEach(() -> {
         KeyPairGenerator generator = KeyPairGenerator
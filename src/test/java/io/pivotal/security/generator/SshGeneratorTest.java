@@ -3,10 +3,13 @@ package io.pivotal.security.generator;
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
 import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.helper.SpectrumHelper.getBouncyCastleProvider;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +17,7 @@ import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.request.SshGenerationParameters;
 import io.pivotal.security.secret.SshKey;
 import io.pivotal.security.util.CertificateFormatter;
+import io.pivotal.security.util.SshPublicKeyParser;
 import java.security.KeyPair;
 import java.security.interfaces.RSAPublicKey;
 import org.junit.runner.RunWith;
@@ -29,7 +33,8 @@ public class SshGeneratorTest {
   {
     beforeEach(() -> {
       keyPairGeneratorMock = mock(LibcryptoRsaKeyPairGenerator.class);
-      subject = new SshGenerator(keyPairGeneratorMock);
+      subject = new SshGenerator(keyPairGeneratorMock,
+          new EcKeyPairGenerator(getBouncyCastleProvider()));
 
       keyPair = new FakeKeyPairGenerator().generate();
       when(keyPairGeneratorMock.generateKeyPair(anyInt())).thenReturn(keyPair);
@@ -55,6 +60,18 @@ public class SshGeneratorTest {
         verify(keyPairGeneratorMock).generateKeyPair(4096);
       });
 
+      it("should generate an ECDSA key in OpenSSH format when requested", () -> {
+        SshGenerationParameters sshSecretParameters = new SshGenerationParameters();
+        sshSecretParameters.setKeyType("ecdsa");
+        sshSecretParameters.setKeyLength(384);
+
+        final SshKey ssh = subject.generateSecret(sshSecretParameters);
+
+        verify(keyPairGeneratorMock, never()).generateKeyPair(anyInt());
+        assertThat(ssh.getPublicKey(), startsWith("ecdsa-sha2-nistp384 "));
+        assertThat(new SshPublicKeyParser(ssh.getPublicKey()).getKeyLength(), equalTo(384));
+      });
+
       it("should use the provided ssh comment", () -> {
         SshGenerationParameters sshSecretParameters = new SshGenerationParameters();
         sshSecretParameters.setSshComment("this is an ssh comment");
@@ -3,6 +3,7 @@ package io.pivotal.security.helper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Suppliers;
 import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.data.CredentialPathIndex;
 import io.pivotal.security.service.EncryptionKeyCanaryMapper;
 import io.pivotal.security.util.CurrentTimeProvider;
 import org.apache.tomcat.jdbc.pool.DataSource;
@@ -103,6 +104,8 @@ public class SpectrumHelper {
     EncryptionKeyCanaryMapper encryptionKeyCanaryMapper = applicationContext
         .getBean(EncryptionKeyCanaryMapper.class);
     encryptionKeyCanaryMapper.mapUuidsToKeys();
+
+    applicationContext.getBean(CredentialPathIndex.class).reload();
   }
 
   static Supplier<MyTestContextManager> getTestContextManagerSupplier(Object testInstance) {
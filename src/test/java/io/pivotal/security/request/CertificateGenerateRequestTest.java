@@ -5,6 +5,7 @@ import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static io.pivotal.security.request.AccessControlOperation.READ;
 import static io.pivotal.security.request.AccessControlOperation.WRITE;
+import static io.pivotal.security.util.CertificateStringConstants.BIG_TEST_CERT;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -16,9 +17,13 @@ import static org.mockito.Mockito.when;
 
 import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.domain.CertificateParameters;
+import io.pivotal.security.domain.NamedCertificateSecret;
 import io.pivotal.security.secret.Certificate;
 import io.pivotal.security.service.GeneratorService;
+import io.pivotal.security.service.regeneratables.CertificateSecretRegeneratable;
+import java.security.Security;
 import java.util.Arrays;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
@@ -68,5 +73,25 @@ public class CertificateGenerateRequestTest {
         assertThat(captor.getValue(), samePropertyValuesAs(new CertificateParameters(generationParameters)));
       });
     });
+
+    describe("#createSetRequest", () -> {
+      it("keeps the CA name of a regenerated CA-signed certificate", () -> {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+          Security.addProvider(new BouncyCastleProvider());
+        }
+        NamedCertificateSecret existing = mock(NamedCertificateSecret.class);
+        when(existing.getName()).thenReturn("/leaf");
+        when(existing.getSecretType()).thenReturn("certificate");
+        when(existing.getCaName()).thenReturn("/my-ca");
+        when(existing.getCertificate()).thenReturn(BIG_TEST_CERT);
+
+        CertificateGenerateRequest regenerateRequest = (CertificateGenerateRequest)
+            new CertificateSecretRegeneratable().createGenerateRequest(existing);
+        CertificateSetRequest setRequest = (CertificateSetRequest) regenerateRequest
+            .createSetRequest(new Certificate("ca", "certificate", "private_key"));
+
+        assertThat(setRequest.getCertificateFields().getCaName(), equalTo("/my-ca"));
+      });
+    });
   }
 }
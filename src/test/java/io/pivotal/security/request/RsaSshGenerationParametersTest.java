@@ -14,5 +14,18 @@ public class RsaSshGenerationParametersTest {
       subject.setKeyLength(1337);
       subject.validate();
     });
+
+    itThrowsWithMessage("#validate with an ecdsa key type", ParameterizedValidationException.class, "error.invalid_ecdsa_key_length", () -> {
+      RsaSshGenerationParameters subject = new RsaSshGenerationParameters();
+      subject.setKeyType("ecdsa");
+      subject.setKeyLength(2048);
+      subject.validate();
+    });
+
+    itThrowsWithMessage("#validate with an unknown key type", ParameterizedValidationException.class, "error.invalid_key_type", () -> {
+      RsaSshGenerationParameters subject = new RsaSshGenerationParameters();
+      subject.setKeyType("dsa");
+      subject.validate();
+    });
   }
 }
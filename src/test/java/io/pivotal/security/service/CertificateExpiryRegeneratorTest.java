@@ -0,0 +1,134 @@
+package io.pivotal.security.service;
+
+import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.audit.EventAuditRecordBuilder;
+import io.pivotal.security.data.SecretDataService;
+import io.pivotal.security.domain.NamedCertificateSecret;
+import io.pivotal.security.domain.NamedSecret;
+import io.pivotal.security.request.BaseSecretGenerateRequest;
+import io.pivotal.security.view.SecretView;
+import java.security.Security;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.pivotal.security.util.CertificateStringConstants.SIMPLE_SELF_SIGNED_TEST_CERT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(Spectrum.class)
+public class CertificateExpiryRegeneratorTest {
+
+  private SecretDataService secretDataService;
+  private GenerateService generateService;
+  private EventAuditLogService eventAuditLogService;
+
+  {
+    beforeEach(() -> {
+      if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+        Security.addProvider(new BouncyCastleProvider());
+      }
+      secretDataService = mock(SecretDataService.class);
+      generateService = mock(GenerateService.class);
+      eventAuditLogService = mock(EventAuditLogService.class);
+
+      when(eventAuditLogService.performWithAuditingForRequest(any(), any(), any()))
+          .thenAnswer(answer -> {
+            Function<EventAuditRecordBuilder, Object> block = answer
+                .getArgumentAt(2, Function.class);
+            return block.apply(new EventAuditRecordBuilder(null));
+          });
+    });
+
+    describe("#regenerate", () -> {
+      it("does nothing when no expiry window is configured", () -> {
+        CertificateExpiryRegenerator subject = new CertificateExpiryRegenerator(
+            secretDataService, generateService, eventAuditLogService, 0);
+
+        assertThat(subject.regenerate(), equalTo(0));
+        verifyZeroInteractions(secretDataService);
+      });
+
+      it("pages past certificates that cannot be regenerated", () -> {
+        NamedCertificateSecret statically = mock(NamedCertificateSecret.class);
+        when(statically.getName()).thenReturn("/static");
+        when(statically.getCertificate()).thenReturn("not-a-certificate");
+        when(secretDataService.findCertificatesExpiringBefore(any(), any(), eq(0), anyInt()))
+            .thenReturn(singletonList("/static"));
+        when(secretDataService.findCertificatesExpiringBefore(any(), any(), eq(1), anyInt()))
+            .thenReturn(emptyList());
+        when(secretDataService.findMostRecentByNames(asList("/static")))
+            .thenReturn(asList((NamedSecret) statically));
+
+        CertificateExpiryRegenerator subject = new CertificateExpiryRegenerator(
+            secretDataService, generateService, eventAuditLogService, 30);
+
+        assertThat(subject.regenerate(), equalTo(0));
+        verify(generateService, never()).performGenerates(any(), any(), any());
+      });
+
+      it("regenerates self-signed certificates, overwriting them", () -> {
+        NamedCertificateSecret selfSigned = mock(NamedCertificateSecret.class);
+        when(selfSigned.getName()).thenReturn("/self-signed");
+        when(selfSigned.getSecretType()).thenReturn("certificate");
+        when(selfSigned.getCertificate()).thenReturn(SIMPLE_SELF_SIGNED_TEST_CERT);
+        when(secretDataService.findCertificatesExpiringBefore(any(), any(), eq(0), anyInt()))
+            .thenReturn(singletonList("/self-signed"));
+        when(secretDataService.findMostRecentByNames(asList("/self-signed")))
+            .thenReturn(asList((NamedSecret) selfSigned));
+        when(generateService.performGenerates(any(), any(), any()))
+            .thenReturn(singletonList(mock(SecretView.class)));
+
+        CertificateExpiryRegenerator subject = new CertificateExpiryRegenerator(
+            secretDataService, generateService, eventAuditLogService, 30);
+
+        assertThat(subject.regenerate(), equalTo(1));
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(generateService).performGenerates(any(), captor.capture(), any());
+        List<BaseSecretGenerateRequest> generateRequests = captor.getValue();
+        assertThat(generateRequests.get(0).getName(), equalTo("/self-signed"));
+        assertThat(generateRequests.get(0).isOverwrite(), equalTo(true));
+      });
+
+      it("stops between batches once the run cannot continue", () -> {
+        List<String> fullBatch = IntStream.range(0, CertificateExpiryRegenerator.BATCH_SIZE)
+            .mapToObj(i -> "/cert-" + i)
+            .collect(Collectors.toList());
+        when(secretDataService.findCertificatesExpiringBefore(any(), any(), anyInt(), anyInt()))
+            .thenReturn(fullBatch);
+        when(secretDataService.findMostRecentByNames(any())).thenReturn(emptyList());
+
+        CertificateExpiryRegenerator subject = new CertificateExpiryRegenerator(
+            secretDataService, generateService, eventAuditLogService, 30);
+
+        AtomicInteger asked = new AtomicInteger();
+        subject.regenerate(() -> asked.incrementAndGet() < 2);
+
+        assertThat(asked.get(), equalTo(2));
+        verify(secretDataService, times(2))
+            .findCertificatesExpiringBefore(any(), any(), anyInt(), anyInt());
+      });
+    });
+  }
+}
@@ -12,14 +12,19 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import com.greghaskins.spectrum.Spectrum;
-import com.jayway.jsonpath.DocumentContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.InvalidJsonException;
-import io.pivotal.security.config.JsonContextFactory;
 import io.pivotal.security.data.SecretDataService;
 import io.pivotal.security.domain.NamedJsonSecret;
 import io.pivotal.security.domain.NamedPasswordSecret;
 import io.pivotal.security.exceptions.ParameterizedValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.InvalidObjectException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import org.assertj.core.util.Maps;
 import org.junit.runner.RunWith;
@@ -31,7 +36,7 @@ public class JsonInterpolationServiceTest {
 
   {
     beforeEach(() -> {
-      subject = new JsonInterpolationService(new JsonContextFactory());
+      subject = new JsonInterpolationService(new ObjectMapper());
     });
 
     describe("#interpolateCredhubReferences", () -> {
@@ -74,42 +79,41 @@ public class JsonInterpolationServiceTest {
           jsonSecrets.put("secret3-2", "secret3-2-value");
           doReturn(jsonSecrets).when(jsonSecret3).getValue();
 
-          SecretDataService mockSecretDataService = mock(SecretDataService.class);
-
-          doReturn(
-              jsonSecret1
-          ).when(mockSecretDataService).findMostRecent("/cred1");
+          doReturn("/cred1").when(jsonSecret1).getName();
+          doReturn("/cred2").when(jsonSecret2).getName();
+          doReturn("/cred3").when(jsonSecret3).getName();
 
-          doReturn(
-              jsonSecret2
-          ).when(mockSecretDataService).findMostRecent("/cred2");
+          SecretDataService mockSecretDataService = mock(SecretDataService.class);
 
           doReturn(
-              jsonSecret3
-          ).when(mockSecretDataService).findMostRecent("/cred3");
+              Arrays.asList(jsonSecret1, jsonSecret2, jsonSecret3)
+          ).when(mockSecretDataService)
+              .findMostRecentByNames(Arrays.asList("/cred1", "/cred2", "/cred3"));
 
-          DocumentContext response = subject
-              .interpolateCredhubReferences(inputJson, mockSecretDataService);
+          JsonNode response = subject
+              .interpolateCredhubReferences(toStream(inputJson), mockSecretDataService);
 
-          Map<String, Object> firstCredentialsBlock = response
-              .read("$.VCAP_SERVICES.pp-config-server[0].credentials");
-          Map<String, Object> secondCredentialsBlock = response
-              .read("$.VCAP_SERVICES.pp-config-server[1].credentials");
-          Map<String, Object> secondServiceCredentials = response
-              .read("$.VCAP_SERVICES.pp-something-else[0].credentials");
+          JsonNode firstCredentialsBlock = response
+              .at("/VCAP_SERVICES/pp-config-server/0/credentials");
+          JsonNode secondCredentialsBlock = response
+              .at("/VCAP_SERVICES/pp-config-server/1/credentials");
+          JsonNode secondServiceCredentials = response
+              .at("/VCAP_SERVICES/pp-something-else/0/credentials");
 
           assertThat(firstCredentialsBlock.get("credhub-ref"), nullValue());
           assertThat(firstCredentialsBlock.size(), equalTo(1));
-          assertThat(firstCredentialsBlock.get("secret1"), equalTo("secret1-value"));
+          assertThat(firstCredentialsBlock.get("secret1").asText(), equalTo("secret1-value"));
 
           assertThat(secondCredentialsBlock.get("credhub-ref"), nullValue());
           assertThat(secondCredentialsBlock.size(), equalTo(1));
-          assertThat(secondCredentialsBlock.get("secret2"), equalTo("secret2-value"));
+          assertThat(secondCredentialsBlock.get("secret2").asText(), equalTo("secret2-value"));
 
           assertThat(secondServiceCredentials.get("credhub-ref"), nullValue());
           assertThat(secondServiceCredentials.size(), equalTo(2));
-          assertThat(secondServiceCredentials.get("secret3-1"), equalTo("secret3-1-value"));
-          assertThat(secondServiceCredentials.get("secret3-2"), equalTo("secret3-2-value"));
+          assertThat(secondServiceCredentials.get("secret3-1").asText(),
+              equalTo("secret3-1-value"));
+          assertThat(secondServiceCredentials.get("secret3-2").asText(),
+              equalTo("secret3-2-value"));
         });
 
         itThrows("an exception when credential is not NamedJSONSecret",
@@ -128,14 +132,15 @@ public class JsonInterpolationServiceTest {
                   + "}";
 
               NamedPasswordSecret passwordSecret = mock(NamedPasswordSecret.class);
+              doReturn("/password_cred").when(passwordSecret).getName();
 
               SecretDataService mockSecretDataService = mock(SecretDataService.class);
 
               doReturn(
-                  passwordSecret
-              ).when(mockSecretDataService).findMostRecent("/password_cred");
+                  Arrays.asList(passwordSecret)
+              ).when(mockSecretDataService).findMostRecentByNames(Arrays.asList("/password_cred"));
 
-              subject.interpolateCredhubReferences(inputJson, mockSecretDataService);
+              subject.interpolateCredhubReferences(toStream(inputJson), mockSecretDataService);
             });
 
         itThrows("an exception when credential is not accessible in datastore",
@@ -156,10 +161,10 @@ public class JsonInterpolationServiceTest {
               SecretDataService mockSecretDataService = mock(SecretDataService.class);
 
               doReturn(
-                  null
-              ).when(mockSecretDataService).findMostRecent("/missing_cred");
+                  Collections.emptyList()
+              ).when(mockSecretDataService).findMostRecentByNames(Arrays.asList("/missing_cred"));
 
-              subject.interpolateCredhubReferences(inputJson, mockSecretDataService);
+              subject.interpolateCredhubReferences(toStream(inputJson), mockSecretDataService);
             });
       });
     });
@@ -175,10 +180,10 @@ public class JsonInterpolationServiceTest {
             + "    }]"
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
@@ -196,10 +201,10 @@ public class JsonInterpolationServiceTest {
             + "    }]"
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
@@ -210,10 +215,10 @@ public class JsonInterpolationServiceTest {
             + "    \"pp-config-server\": [\"what is this?\"]"
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
@@ -227,19 +232,19 @@ public class JsonInterpolationServiceTest {
             + "    }]"
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
     describe("when no properly formatted credentials section exists", () -> {
       it("is ignored", () -> {
-        DocumentContext response = subject
-            .interpolateCredhubReferences("{}", mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream("{}"), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse("{}")));
+        assertThat(parse(response.toString()), equalTo(parse("{}")));
       });
     });
 
@@ -250,10 +255,10 @@ public class JsonInterpolationServiceTest {
             + "    \"credhub-ref\":\"((/some/known/path))\""
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
@@ -262,10 +267,10 @@ public class JsonInterpolationServiceTest {
         String inputJsonString = "{"
             + "  \"VCAP_SERVICES\":[]"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
@@ -281,19 +286,23 @@ public class JsonInterpolationServiceTest {
             + "    }"
             + "  }"
             + "}";
-        DocumentContext response = subject
-            .interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        JsonNode response = subject
+            .interpolateCredhubReferences(toStream(inputJsonString), mock(SecretDataService.class));
 
-        assertThat(parse(response.jsonString()), equalTo(parse(inputJsonString)));
+        assertThat(parse(response.toString()), equalTo(parse(inputJsonString)));
       });
     });
 
     describe("when input is not even json", () -> {
       itThrows("should throw exception", InvalidJsonException.class, () -> {
         String inputJsonString = "</xml?>";
-        subject.interpolateCredhubReferences(inputJsonString, mock(SecretDataService.class));
+        subject.interpolateCredhubReferences(toStream(inputJsonString),
+            mock(SecretDataService.class));
       });
     });
   }
-}
 
+  private static InputStream toStream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -4,13 +4,23 @@ import com.greghaskins.spectrum.Spectrum;
 import io.pivotal.security.auth.UserContext;
 import io.pivotal.security.data.AccessControlDataService;
 import io.pivotal.security.exceptions.PermissionException;
+import io.pivotal.security.request.AccessControlOperation;
 import org.junit.runner.RunWith;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
 import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
 import static io.pivotal.security.helper.SpectrumHelper.itThrowsWithMessage;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -56,6 +66,32 @@ public class PermissionServiceTest {
               });
         });
       });
+
+      describe("#filterPermitted", () -> {
+        it("should keep only the credentials the actor may perform the operation on", () -> {
+          Map<String, EnumSet<AccessControlOperation>> permissions = new HashMap<>();
+          permissions.put("/readable", EnumSet.of(AccessControlOperation.READ));
+          permissions.put("/writable", EnumSet.of(AccessControlOperation.WRITE));
+          when(accessControlDataService.getPermissionsForActor("test-actor")).thenReturn(permissions);
+
+          assertThat(
+              subject.filterPermitted(userContext,
+                  asList("/Readable", "/writable", "/unknown"), AccessControlOperation.READ),
+              contains("/Readable"));
+        });
+      });
+
+      describe("#getReadFilterActor", () -> {
+        it("should return the user's ACL identity", () -> {
+          assertThat(subject.getReadFilterActor(userContext), equalTo("test-actor"));
+        });
+
+        it("should return an actor matching no entries when the user has no ACL identity", () -> {
+          when(userContext.getAclUser()).thenReturn(null);
+
+          assertThat(subject.getReadFilterActor(userContext), equalTo(""));
+        });
+      });
     });
 
     describe("when security.authorization.acls.enabled = false", () -> {
@@ -90,6 +126,12 @@ public class PermissionServiceTest {
           });
         });
       });
+
+      describe("#getReadFilterActor", () -> {
+        it("should not filter listings", () -> {
+          assertThat(subject.getReadFilterActor(userContext), nullValue());
+        });
+      });
     });
   }
 }
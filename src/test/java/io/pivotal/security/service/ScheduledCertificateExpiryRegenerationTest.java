@@ -0,0 +1,73 @@
+package io.pivotal.security.service;
+
+import com.greghaskins.spectrum.Spectrum;
+import io.pivotal.security.audit.EventAuditLogService;
+import io.pivotal.security.data.ScheduledJobLeaseDataService;
+import io.pivotal.security.data.SecretDataService;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.runner.RunWith;
+
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static java.util.Collections.emptyList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(Spectrum.class)
+public class ScheduledCertificateExpiryRegenerationTest {
+
+  private SecretDataService secretDataService;
+  private ScheduledJobLeaseDataService scheduledJobLeaseDataService;
+  private ScheduledCertificateExpiryRegeneration subject;
+
+  {
+    beforeEach(() -> {
+      secretDataService = mock(SecretDataService.class);
+      scheduledJobLeaseDataService = mock(ScheduledJobLeaseDataService.class);
+
+      List<String> fullBatch = IntStream.range(0, CertificateExpiryRegenerator.BATCH_SIZE)
+          .mapToObj(i -> "/cert-" + i)
+          .collect(Collectors.toList());
+      when(secretDataService.findCertificatesExpiringBefore(any(), any(), anyInt(), anyInt()))
+          .thenReturn(fullBatch);
+      when(secretDataService.findMostRecentByNames(any())).thenReturn(emptyList());
+
+      CertificateExpiryRegenerator certificateExpiryRegenerator = new CertificateExpiryRegenerator(
+          secretDataService, mock(GenerateService.class), mock(EventAuditLogService.class), 30);
+      subject = new ScheduledCertificateExpiryRegeneration(
+          certificateExpiryRegenerator, scheduledJobLeaseDataService, 1000);
+    });
+
+    describe("#regenerate", () -> {
+      it("does not run without the lease", () -> {
+        when(scheduledJobLeaseDataService.tryAcquire(any(), any(), anyLong())).thenReturn(false);
+
+        subject.regenerate();
+
+        verifyZeroInteractions(secretDataService);
+      });
+
+      it("renews the lease between batches and stops once it is lost", () -> {
+        when(scheduledJobLeaseDataService.tryAcquire(any(), any(), anyLong()))
+            .thenReturn(true, true, false);
+
+        subject.regenerate();
+
+        verify(scheduledJobLeaseDataService, times(3)).tryAcquire(
+            eq(ScheduledCertificateExpiryRegeneration.JOB_NAME), any(), eq(1000L));
+        verify(secretDataService, times(2))
+            .findCertificatesExpiringBefore(any(), any(), anyInt(), anyInt());
+      });
+    });
+  }
+}
@@ -0,0 +1,45 @@
+package io.pivotal.security.service.regeneratables;
+
+import io.pivotal.security.domain.NamedRsaSecret;
+import io.pivotal.security.request.KeyType;
+import io.pivotal.security.request.RsaGenerateRequest;
+import io.pivotal.security.request.RsaGenerationParameters;
+import io.pivotal.security.util.CertificateFormatter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+@RunWith(JUnit4.class)
+public class RsaSecretRegeneratableTest {
+  @Test
+  public void createGenerateRequest_keepsTheKeyTypeAndLengthOfEcdsaKeys() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp384r1"));
+    NamedRsaSecret secret = new NamedRsaSecret("/my-rsa")
+        .setPublicKey(CertificateFormatter.pemOf(generator.generateKeyPair().getPublic()));
+
+    RsaGenerateRequest generateRequest = (RsaGenerateRequest) new RsaSecretRegeneratable()
+        .createGenerateRequest(secret);
+
+    RsaGenerationParameters parameters = generateRequest.getGenerationParameters();
+    assertThat(generateRequest.getName(), equalTo("/my-rsa"));
+    assertThat(parameters.getKeyType(), equalTo(KeyType.ECDSA));
+    assertThat(parameters.getKeyLength(), equalTo(384));
+  }
+
+  @Test
+  public void createGenerateRequest_usesTheDefaultsWithoutAPublicKey() {
+    RsaGenerateRequest generateRequest = (RsaGenerateRequest) new RsaSecretRegeneratable()
+        .createGenerateRequest(new NamedRsaSecret("/my-rsa"));
+
+    RsaGenerationParameters parameters = generateRequest.getGenerationParameters();
+    assertThat(parameters.getKeyType(), equalTo(KeyType.RSA));
+    assertThat(parameters.getKeyLength(), equalTo(2048));
+  }
+}
@@ -0,0 +1,37 @@
+package io.pivotal.security.service.regeneratables;
+
+import io.pivotal.security.domain.NamedSshSecret;
+import io.pivotal.security.request.KeyType;
+import io.pivotal.security.request.SshGenerateRequest;
+import io.pivotal.security.request.SshGenerationParameters;
+import io.pivotal.security.util.CertificateFormatter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+@RunWith(JUnit4.class)
+public class SshSecretRegeneratableTest {
+  @Test
+  public void createGenerateRequest_keepsTheKeyTypeLengthAndCommentOfEcdsaKeys()
+      throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+    generator.initialize(new ECGenParameterSpec("secp384r1"));
+    String publicKey = CertificateFormatter.derOf(generator.generateKeyPair().getPublic());
+    NamedSshSecret secret = new NamedSshSecret("/my-ssh")
+        .setPublicKey(publicKey + " my-comment");
+
+    SshGenerateRequest generateRequest = (SshGenerateRequest) new SshSecretRegeneratable()
+        .createGenerateRequest(secret);
+
+    SshGenerationParameters parameters = generateRequest.getGenerationParameters();
+    assertThat(parameters.getKeyType(), equalTo(KeyType.ECDSA));
+    assertThat(parameters.getKeyLength(), equalTo(384));
+    assertThat(parameters.getSshComment(), equalTo("my-comment"));
+  }
+}
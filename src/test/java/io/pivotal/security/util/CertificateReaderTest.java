@@ -8,18 +8,32 @@ import static io.pivotal.security.util.CertificateStringConstants.MISLEADING_CER
 import static io.pivotal.security.util.CertificateStringConstants.SELF_SIGNED_CA_CERT;
 import static io.pivotal.security.util.CertificateStringConstants.SIMPLE_SELF_SIGNED_TEST_CERT;
 import static io.pivotal.security.util.CertificateStringConstants.V3_CERT_WITHOUT_BASIC_CONSTRAINTS;
+import static java.time.temporal.ChronoUnit.DAYS;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.IsEqual.equalTo;
 
 import com.greghaskins.spectrum.Spectrum;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.Security;
+import java.time.Instant;
+import java.util.Date;
+import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.bouncycastle.asn1.x509.GeneralNames;
 import org.bouncycastle.asn1.x509.KeyPurposeId;
 import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.ECNamedCurveTable;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.jce.spec.ECNamedCurveParameterSpec;
+import org.bouncycastle.jce.spec.ECParameterSpec;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.runner.RunWith;
 
 @RunWith(Spectrum.class)
@@ -71,6 +85,19 @@ public class CertificateReaderTest {
       });
     });
 
+    describe("#of", () -> {
+      it("returns the same reader for the same certificate", () -> {
+        CertificateReader first = CertificateReader.of(SELF_SIGNED_CA_CERT);
+
+        assertThat(CertificateReader.of(SELF_SIGNED_CA_CERT), sameInstance(first));
+        assertThat(first.isCa(), equalTo(true));
+      });
+
+      it("returns an invalid reader for an invalid cert", () -> {
+        assertThat(CertificateReader.of("penguin").isValid(), equalTo(false));
+      });
+    });
+
     describe("when it is not a self-signed certificate", () -> {
       it("should correctly set certificate fields", () -> {
         final String distinguishedName =
@@ -140,6 +167,24 @@ public class CertificateReaderTest {
       });
     });
 
+    describe("#getKeyLength", () -> {
+      it("reads the key length of EC certificates with named curves", () -> {
+        ECNamedCurveParameterSpec curve = ECNamedCurveTable.getParameterSpec("secp384r1");
+
+        assertThat(new CertificateReader(selfSignedEcCertificate(curve)).getKeyLength(),
+            equalTo(384));
+      });
+
+      it("reads the key length of EC certificates with explicit curve parameters", () -> {
+        ECNamedCurveParameterSpec curve = ECNamedCurveTable.getParameterSpec("secp384r1");
+        ECParameterSpec explicitCurve = new ECParameterSpec(
+            curve.getCurve(), curve.getG(), curve.getN(), curve.getH());
+
+        assertThat(new CertificateReader(selfSignedEcCertificate(explicitCurve)).getKeyLength(),
+            equalTo(384));
+      });
+    });
+
     describe("when we need to get parameters as String arrays", () -> {
       it("returns the values as expected", () -> {
         final String distinguishedName =
@@ -159,6 +204,20 @@ public class CertificateReaderTest {
       });
     });
   }
-}
-
 
+  private static String selfSignedEcCertificate(ECParameterSpec curve) throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator
+        .getInstance("EC", BouncyCastleProvider.PROVIDER_NAME);
+    generator.initialize(curve);
+    KeyPair keyPair = generator.generateKeyPair();
+    X500Name name = new X500Name("CN=ec-certificate");
+    Instant now = Instant.now();
+
+    X509CertificateHolder certificate = new JcaX509v3CertificateBuilder(name, BigInteger.ONE,
+        Date.from(now), Date.from(now.plus(1, DAYS)), name, keyPair.getPublic())
+        .build(new JcaContentSignerBuilder("SHA256withECDSA")
+            .setProvider(BouncyCastleProvider.PROVIDER_NAME)
+            .build(keyPair.getPrivate()));
+    return CertificateFormatter.pemOf(certificate);
+  }
+}
@@ -18,4 +18,13 @@ public class UuidUtilTest {
     ByteBuffer buffer = ByteBuffer.wrap(translatedUuid);
     assertThat(new UUID(buffer.getLong(), buffer.getLong()), equalTo(originalUuid));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void readsUuidFromEitherColumnRepresentation() throws Exception {
+    UUID originalUuid = UUID.randomUUID();
+
+    assertThat(UuidUtil.uuidFromColumnValue(originalUuid), equalTo(originalUuid));
+    assertThat(UuidUtil.uuidFromColumnValue(UuidUtil.uuidToByteArray(originalUuid)),
+        equalTo(originalUuid));
+  }
+}